@@ -0,0 +1,50 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import guru.springframework.reactivemongo.services.BeerNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top ten suggestions from the name index holding a million beers, for a prefix shared by many
+ * names and one narrowed down to a few.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerNameIndexBenchmark {
+
+    private static final int BEERS = 1_000_000;
+
+    @Param({"space", "Space Dust 4711"})
+    public String prefix;
+
+    private final BeerNameIndex beerNameIndex = new BeerNameIndex(null);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BEERS; i++) {
+            beerNameIndex.put(String.format("%024x", i), BenchmarkData.beer(i).getBeerName());
+        }
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return beerNameIndex.suggest(prefix, 10);
+    }
+
+}
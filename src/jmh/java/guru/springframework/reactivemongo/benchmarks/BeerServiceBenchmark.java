@@ -0,0 +1,85 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import guru.springframework.reactivemongo.cache.NearCache;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.repositories.BeerRepository;
+import guru.springframework.reactivemongo.services.BeerNameIndex;
+import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.BeerServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link BeerServiceImpl} reactive pipeline (repository, mapping, near cache, single-flight
+ * and Reactor operators) over an in-memory repository, so any cost measured here is the
+ * application's own. Style lookups read through the {@code DtoFinder}, which needs a server, so
+ * they are left to the load test and their decoding to {@link CodecBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerServiceBenchmark {
+
+    private static final long CACHE_SIZE = 10_000;
+
+    private BeerService cachedBeerService;
+    private BeerService uncachedBeerService;
+    private BeerDTO existingBeer;
+    private String beerId;
+
+    @Setup
+    public void setUp() {
+        BeerMapper beerMapper = new BeerMapperImpl();
+        BeerRepository beerRepository = InMemoryBeerRepository.create(BenchmarkData.beers());
+
+        cachedBeerService = beerService(beerRepository, beerMapper, Duration.ofHours(1));
+        // Entries expire as soon as they are written, so every lookup goes to the repository.
+        uncachedBeerService = beerService(beerRepository, beerMapper, Duration.ZERO);
+
+        // Saving an existing beer keeps the repository the same size across iterations.
+        existingBeer = beerMapper.beerToBeerDto(BenchmarkData.beer(0));
+        beerId = BenchmarkData.beer(BenchmarkData.LIST_SIZE / 2).getId();
+    }
+
+    @Benchmark
+    public BeerDTO getBeerByIdCached() {
+        return cachedBeerService.getBeerById(beerId).block();
+    }
+
+    @Benchmark
+    public BeerDTO getBeerByIdUncached() {
+        return uncachedBeerService.getBeerById(beerId).block();
+    }
+
+    @Benchmark
+    public BeerDTO saveBeer() {
+        return uncachedBeerService.saveBeer(existingBeer).block();
+    }
+
+    private static BeerService beerService(BeerRepository beerRepository, BeerMapper beerMapper, Duration timeToLive) {
+        // The template, DTO finder and change feed back operations that are not benchmarked here.
+        return new BeerServiceImpl(beerRepository, beerMapper, null, null,
+            new NearCache<>(CACHE_SIZE, timeToLive, beerDTO -> beerDTO.toBuilder().build()),
+            new NearCache<>(CACHE_SIZE, timeToLive, beerDTO -> beerDTO.toBuilder().build()),
+            new ResponseCache(CACHE_SIZE, timeToLive, -1),
+            null, new BeerNameIndex(null));
+    }
+
+}
@@ -0,0 +1,47 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Representative documents shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final int LIST_SIZE = 100;
+
+    private BenchmarkData() {
+    }
+
+    static Beer beer(int i) {
+        return Beer.builder()
+            .id(String.format("%024x", i))
+            .beerName("Space Dust " + i)
+            .beerStyle("IPA")
+            .upc("12356" + i)
+            .quantityOnHand(120 + i)
+            .price(new BigDecimal("12.99"))
+            .createdDate(LocalDateTime.of(2023, 6, 1, 12, 0))
+            .lastModifiedDate(LocalDateTime.of(2023, 6, 2, 12, 0))
+            .build();
+    }
+
+    static List<Beer> beers() {
+        return IntStream.range(0, LIST_SIZE).mapToObj(BenchmarkData::beer).toList();
+    }
+
+    static Customer customer(int i) {
+        return Customer.builder()
+            .id(String.format("%024x", i))
+            .customerName("Customer " + i)
+            .createdDate(LocalDateTime.of(2023, 6, 1, 12, 0))
+            .lastModifiedDate(LocalDateTime.of(2023, 6, 2, 12, 0))
+            .build();
+    }
+
+}
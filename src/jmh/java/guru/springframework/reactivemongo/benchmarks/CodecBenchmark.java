@@ -0,0 +1,69 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import guru.springframework.reactivemongo.codecs.BeerDtoCodec;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one beer document as it arrives from the driver: through a {@code Document}, the
+ * reflective converter and the mapper, against the hand-written DTO codec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    private final BeerMapper beerMapper = new BeerMapperImpl();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final BeerDtoCodec beerDtoCodec = new BeerDtoCodec();
+
+    private MappingMongoConverter mappingMongoConverter;
+    private RawBsonDocument beerDocument;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        mappingMongoConverter.afterPropertiesSet();
+        mappingContext.setSimpleTypeHolder(mappingMongoConverter.getCustomConversions().getSimpleTypeHolder());
+
+        // Written by the converter, so both paths read what the application stores.
+        Document document = new Document();
+        mappingMongoConverter.write(BenchmarkData.beer(1), document);
+        beerDocument = new RawBsonDocument(document, documentCodec);
+    }
+
+    @Benchmark
+    public BeerDTO converterAndMapper() {
+        return beerMapper.beerToBeerDto(mappingMongoConverter.read(Beer.class, beerDocument.decode(documentCodec)));
+    }
+
+    @Benchmark
+    public BeerDTO dtoCodec() {
+        return beerDocument.decode(beerDtoCodec);
+    }
+
+}
@@ -0,0 +1,59 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.repositories.BeerRepository;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map backed {@link BeerRepository} so the service pipeline can be measured without a database.
+ * Only the operations the benchmarks call are implemented.
+ */
+final class InMemoryBeerRepository implements InvocationHandler {
+
+    private final Map<String, Beer> beers = new ConcurrentHashMap<>();
+
+    private InMemoryBeerRepository(Collection<Beer> beers) {
+        beers.forEach(beer -> this.beers.put(beer.getId(), beer));
+    }
+
+    static BeerRepository create(Collection<Beer> beers) {
+        return (BeerRepository) Proxy.newProxyInstance(BeerRepository.class.getClassLoader(),
+            new Class<?>[]{BeerRepository.class}, new InMemoryBeerRepository(beers));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findById" -> Mono.justOrEmpty(beers.get((String) args[0]));
+            case "save" -> Mono.just(save((Beer) args[0]));
+            case "findAll" -> Flux.fromIterable(beers.values());
+            case "findAllByBeerStyle" -> Flux.fromIterable(beers.values())
+                .filter(beer -> beer.getBeerStyle().equals(args[0]));
+            case "findFirstByBeerName" -> Flux.fromIterable(beers.values())
+                .filter(beer -> beer.getBeerName().equals(args[0]))
+                .next();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryBeerRepository";
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private Beer save(Beer beer) {
+        if (beer.getId() == null) {
+            beer.setId(new ObjectId().toHexString());
+        }
+        beers.put(beer.getId(), beer);
+        return beer;
+    }
+
+}
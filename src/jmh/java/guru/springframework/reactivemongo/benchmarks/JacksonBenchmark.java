@@ -0,0 +1,88 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of beers, both straight through the ObjectMapper and through the WebFlux encoder
+ * that writes response bodies, plus decoding of a request body.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private static final ResolvableType BEER_DTO_TYPE = ResolvableType.forClass(BeerDTO.class);
+
+    private final DefaultDataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonEncoder encoder;
+    private BeerDTO beerDTO;
+    private List<BeerDTO> beerDTOs;
+    private byte[] beerJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+
+        BeerMapper beerMapper = new BeerMapperImpl();
+        beerDTO = beerMapper.beerToBeerDto(BenchmarkData.beer(1));
+        beerDTOs = BenchmarkData.beers().stream().map(beerMapper::beerToBeerDto).toList();
+        beerJson = objectMapper.writeValueAsBytes(beerDTO);
+    }
+
+    @Benchmark
+    public byte[] writeBeer() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(beerDTO);
+    }
+
+    @Benchmark
+    public byte[] writeBeerList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(beerDTOs);
+    }
+
+    @Benchmark
+    public int encodeBeer() {
+        DataBuffer dataBuffer = encoder.encodeValue(beerDTO, dataBufferFactory, BEER_DTO_TYPE,
+            MediaType.APPLICATION_JSON, Collections.emptyMap());
+        int readableByteCount = dataBuffer.readableByteCount();
+        DataBufferUtils.release(dataBuffer);
+        return readableByteCount;
+    }
+
+    @Benchmark
+    public BeerDTO readBeer() throws IOException {
+        return objectMapper.readValue(beerJson, BeerDTO.class);
+    }
+
+}
@@ -0,0 +1,103 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import guru.springframework.reactivemongo.config.CodecConfig;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading one beer in each format the API negotiates, with the mappers configured as
+ * in {@link CodecConfig}. The payload size of each format is reported as the {@code bytes}
+ * counter of {@code writeBeer}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private BeerDTO beerDTO;
+    private byte[] beerBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> builder().factory(new CBORFactory()).build();
+            case "smile" -> builder().factory(new SmileFactory()).build();
+            case "protobuf" -> CodecConfig.protobufMapper(builder());
+            default -> builder().build();
+        };
+        writer = objectMapper.writerFor(BeerDTO.class);
+        reader = objectMapper.readerFor(BeerDTO.class);
+
+        if (objectMapper instanceof ProtobufMapper protobufMapper) {
+            ProtobufSchema schema = protobufMapper.generateSchemaFor(BeerDTO.class);
+            writer = protobufMapper.writerFor(BeerDTO.class).with(schema);
+            reader = protobufMapper.readerFor(BeerDTO.class).with(schema);
+        }
+
+        beerDTO = new BeerMapperImpl().beerToBeerDto(BenchmarkData.beer(1));
+        beerBytes = writer.writeValueAsBytes(beerDTO);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        /**
+         * Size of the last beer written.
+         */
+        public long bytes;
+
+    }
+
+    /**
+     * @return a builder with Spring Boot's defaults, dates written as ISO strings
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] writeBeer(Payload payload) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(beerDTO);
+        payload.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public BeerDTO readBeer() throws IOException {
+        return reader.readValue(beerBytes);
+    }
+
+}
@@ -0,0 +1,170 @@
+package guru.springframework.reactivemongo.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static guru.springframework.reactivemongo.web.fn.BeerRouterConfig.BEER_BATCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouterConfig.BEER_PATH;
+import static guru.springframework.reactivemongo.web.fn.CustomerRouterConfig.CUSTOMER_BATCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.CustomerRouterConfig.CUSTOMER_PATH;
+
+/**
+ * The API requests of the workload, sent through a pooled reactor-netty client. Reads target the
+ * beers and customers created by {@link #seed()}.
+ */
+final class ApiClient {
+
+    private static final TypeReference<List<BatchItemResultDTO>> BATCH_RESULTS = new TypeReference<>() {
+    };
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LoadTestSettings settings;
+    private final String name;
+
+    private List<String> beerIds = List.of();
+    private List<String> customerIds = List.of();
+
+    ApiClient(int port, String token, ObjectMapper objectMapper, LoadTestSettings settings) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("loadtest")
+            .maxConnections(settings.maxInFlight())
+            .pendingAcquireMaxCount(settings.maxInFlight())
+            .build();
+
+        this.httpClient = HttpClient.create(connectionProvider)
+            .baseUrl("http://localhost:" + port)
+            .headers(headers -> headers
+                .set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token)
+                .set(HttpHeaderNames.ACCEPT, HttpHeaderValues.APPLICATION_JSON));
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        // Names must stay within the 3..255 characters the DTOs allow.
+        this.name = "x".repeat(Math.max(3, Math.min(255, settings.payloadSize())));
+    }
+
+    void seed() {
+        beerIds = create(BEER_BATCH_PATH, IntStream.range(0, settings.seedBeers()).mapToObj(i -> newBeer()).toList());
+        customerIds = create(CUSTOMER_BATCH_PATH, IntStream.range(0, settings.seedBeers()).mapToObj(i -> newCustomer()).toList());
+    }
+
+    Mono<Integer> getBeer() {
+        return send(HttpMethod.GET, BEER_PATH + "/" + random(beerIds), null);
+    }
+
+    Mono<Integer> listBeers() {
+        return send(HttpMethod.GET, BEER_PATH + "?limit=" + PAGE_SIZE, null);
+    }
+
+    Mono<Integer> getCustomer() {
+        return send(HttpMethod.GET, CUSTOMER_PATH + "/" + random(customerIds), null);
+    }
+
+    Mono<Integer> createBeer() {
+        return send(HttpMethod.POST, BEER_PATH, newBeer());
+    }
+
+    Mono<Integer> createBeers() {
+        return send(HttpMethod.POST, BEER_BATCH_PATH,
+            IntStream.range(0, settings.batchSize()).mapToObj(i -> newBeer()).toList());
+    }
+
+    Mono<Integer> patchBeer() {
+        return send(HttpMethod.PATCH, BEER_PATH + "/" + random(beerIds), newBeer());
+    }
+
+    Mono<Integer> createCustomer() {
+        return send(HttpMethod.POST, CUSTOMER_PATH, newCustomer());
+    }
+
+    /**
+     * Completes with the response status once the body has been read and released.
+     */
+    private Mono<Integer> send(HttpMethod method, String uri, Object body) {
+        HttpClient.RequestSender requestSender = httpClient
+            .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+            .request(method)
+            .uri(uri);
+
+        HttpClient.ResponseReceiver<?> responseReceiver = body == null ? requestSender :
+            requestSender.send(ByteBufFlux.fromString(Mono.just(json(body))));
+
+        return responseReceiver
+            .response((response, content) -> content.then(Mono.just(response.status().code())))
+            .next();
+    }
+
+    private List<String> create(String batchPath, List<?> items) {
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+
+        Flux.fromIterable(items)
+            .buffer(settings.batchSize())
+            .concatMap(batch -> httpClient
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                .post()
+                .uri(batchPath)
+                .send(ByteBufFlux.fromString(Mono.just(json(batch))))
+                .responseSingle((response, content) -> content.asString()))
+            .doOnNext(results -> read(results).forEach(result -> ids.add(result.getId())))
+            .blockLast();
+
+        return List.copyOf(ids);
+    }
+
+    private BeerDTO newBeer() {
+        return BeerDTO.builder()
+            .beerName(name)
+            .beerStyle("IPA")
+            .upc("123456")
+            .quantityOnHand(ThreadLocalRandom.current().nextInt(1000))
+            .price(new BigDecimal("9.99"))
+            .build();
+    }
+
+    private CustomerDTO newCustomer() {
+        return CustomerDTO.builder()
+            .customerName(name)
+            .build();
+    }
+
+    private static String random(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<BatchItemResultDTO> read(String results) {
+        try {
+            return objectMapper.readValue(results, BATCH_RESULTS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package guru.springframework.reactivemongo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per operation. Latency runs from the time a request was scheduled to start,
+ * not the time it was sent, so a backed up client or server shows in the numbers instead of
+ * quietly lowering the request rate.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Histogram total = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        long value = Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS);
+        histograms.get(operation).recordValue(value);
+        total.recordValue(value);
+        if (status < 200 || status >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void write(LoadTestSettings settings) throws IOException {
+        StringWriter report = new StringWriter();
+        PrintWriter out = new PrintWriter(report);
+
+        double seconds = settings.duration().toMillis() / 1000.0;
+        out.printf("Load test report, %s%n", Instant.now());
+        out.printf("target rps %d, duration %s, warm-up %s, payload size %d, batch size %d, mix %s%n",
+            settings.rps(), settings.duration(), settings.warmup(), settings.payloadSize(), settings.batchSize(),
+            settings.mix());
+        out.printf("throughput %.1f req/s, dropped %d%n%n", total.getTotalCount() / seconds, dropped.sum());
+        out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+            "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                line(out, operation.operationName(), histogram, errors.get(operation).sum(), seconds);
+            }
+        });
+        line(out, "all", total, errors.values().stream().mapToLong(LongAdder::sum).sum(), seconds);
+        out.flush();
+
+        if (settings.report().getParent() != null) {
+            Files.createDirectories(settings.report().getParent());
+        }
+        Files.writeString(settings.report(), report.toString());
+        System.out.print(report);
+    }
+
+    private static void line(PrintWriter out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+            name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+}
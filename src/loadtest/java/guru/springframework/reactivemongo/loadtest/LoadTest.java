@@ -0,0 +1,132 @@
+package guru.springframework.reactivemongo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import guru.springframework.reactivemongo.Spring6ReactiveMongoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs the application against an in-memory Mongo stand-in and drives it with an open-model
+ * workload: requests start at the target rate regardless of how many are still outstanding.
+ * Throughput and latency percentiles per operation are written to the report file.
+ * <p>
+ * The stand-in speaks the Mongo wire protocol but has none of a real server's storage or
+ * concurrency behaviour, so the numbers describe the application, not Mongo.
+ */
+public class LoadTest {
+
+    private static final String TOKEN = "loadtest";
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongoServer.bind();
+
+        // Passed as arguments so they take precedence over application.properties.
+        String[] applicationArgs = Stream.concat(Stream.of(
+                "--server.port=0",
+                "--app.mongo.client.hosts=" + mongoAddress.getHostString() + ":" + mongoAddress.getPort(),
+                "--app.mongo.client.username="), Arrays.stream(args))
+            .toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Spring6ReactiveMongoApplication.class)
+            .initializers(applicationContext -> ((GenericApplicationContext) applicationContext)
+                .registerBean(ReactiveJwtDecoder.class, () -> LoadTest::decode))
+            .run(applicationArgs);
+
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ApiClient apiClient = new ApiClient(port, TOKEN, context.getBean(ObjectMapper.class), settings);
+            apiClient.seed();
+
+            LatencyReport latencyReport = new LatencyReport();
+            run(apiClient, settings, latencyReport);
+            latencyReport.write(settings);
+        } finally {
+            context.close();
+            mongoServer.shutdownNow();
+        }
+    }
+
+    private static void run(ApiClient apiClient, LoadTestSettings settings, LatencyReport latencyReport) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+        long requests = settings.warmup().plus(settings.duration()).toNanos() / intervalNanos;
+        OperationChooser operationChooser = new OperationChooser(settings.mix());
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + settings.warmup().toNanos();
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+            .take(requests)
+            .onBackpressureDrop(tick -> latencyReport.dropped())
+            .flatMap(tick -> {
+                long scheduledNanos = startNanos + (tick + 1) * intervalNanos;
+                Operation operation = operationChooser.next();
+
+                return operation.execute(apiClient)
+                    .onErrorReturn(0)
+                    .doOnNext(status -> {
+                        if (scheduledNanos >= measureFromNanos) {
+                            latencyReport.record(operation, System.nanoTime() - scheduledNanos, status);
+                        }
+                    });
+            }, settings.maxInFlight())
+            .blockLast();
+    }
+
+    private static Mono<Jwt> decode(String token) {
+        return Mono.just(Jwt.withTokenValue(token)
+            .header("alg", "none")
+            .subject(TOKEN)
+            .build());
+    }
+
+    /**
+     * Picks operations at random in proportion to their weights.
+     */
+    private static final class OperationChooser {
+
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        private OperationChooser(Map<Operation, Integer> mix) {
+            operations = mix.keySet().toArray(Operation[]::new);
+            cumulativeWeights = new int[operations.length];
+
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += mix.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        private Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
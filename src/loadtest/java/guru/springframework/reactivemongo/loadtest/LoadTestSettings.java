@@ -0,0 +1,52 @@
+package guru.springframework.reactivemongo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Workload parameters, read from {@code loadtest.*} system properties.
+ *
+ * @param rps          requests started per second, whether or not earlier ones have completed
+ * @param duration     measured run time, after the warm-up
+ * @param warmup       run time before latencies are recorded
+ * @param mix          relative weight of each operation
+ * @param payloadSize  length of the names written by create and patch requests
+ * @param batchSize    beers per batch create request
+ * @param seedBeers    beers (and customers) created before the run for reads to target
+ * @param maxInFlight  requests allowed in flight; further ones are dropped and counted
+ * @param report       file the report is written to
+ */
+record LoadTestSettings(int rps, Duration duration, Duration warmup, Map<Operation, Integer> mix, int payloadSize,
+                        int batchSize, int seedBeers, int maxInFlight, Path report) {
+
+    private static final String PREFIX = "loadtest.";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger(PREFIX + "rps", 200),
+            Duration.parse("PT" + System.getProperty(PREFIX + "duration", "60s")),
+            Duration.parse("PT" + System.getProperty(PREFIX + "warmup", "30s")),
+            mix(System.getProperty(PREFIX + "mix", "getBeer:40,listBeers:15,getCustomer:15,createBeer:10,"
+                + "createBeers:5,patchBeer:10,createCustomer:5")),
+            Integer.getInteger(PREFIX + "payloadSize", 32),
+            Integer.getInteger(PREFIX + "batchSize", 20),
+            Integer.getInteger(PREFIX + "seedBeers", 1000),
+            Integer.getInteger(PREFIX + "maxInFlight", 2048),
+            Path.of(System.getProperty(PREFIX + "report", "target/loadtest-report.txt")));
+    }
+
+    /**
+     * Parses {@code name:weight} pairs, e.g. {@code getBeer:80,patchBeer:20}.
+     */
+    private static Map<Operation, Integer> mix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            weights.put(Operation.byName(nameAndWeight[0]), Integer.parseInt(nameAndWeight[1]));
+        }
+        return weights;
+    }
+
+}
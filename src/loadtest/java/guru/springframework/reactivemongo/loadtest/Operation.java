@@ -0,0 +1,44 @@
+package guru.springframework.reactivemongo.loadtest;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Requests the workload is made of. Each one completes with the HTTP status of its response.
+ */
+enum Operation {
+
+    GET_BEER("getBeer", ApiClient::getBeer),
+    LIST_BEERS("listBeers", ApiClient::listBeers),
+    GET_CUSTOMER("getCustomer", ApiClient::getCustomer),
+    CREATE_BEER("createBeer", ApiClient::createBeer),
+    CREATE_BEERS("createBeers", ApiClient::createBeers),
+    PATCH_BEER("patchBeer", ApiClient::patchBeer),
+    CREATE_CUSTOMER("createCustomer", ApiClient::createCustomer);
+
+    private final String operationName;
+    private final Function<ApiClient, Mono<Integer>> request;
+
+    Operation(String operationName, Function<ApiClient, Mono<Integer>> request) {
+        this.operationName = operationName;
+        this.request = request;
+    }
+
+    static Operation byName(String operationName) {
+        return Arrays.stream(values())
+            .filter(operation -> operation.operationName.equals(operationName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + operationName));
+    }
+
+    String operationName() {
+        return operationName;
+    }
+
+    Mono<Integer> execute(ApiClient apiClient) {
+        return request.apply(apiClient);
+    }
+
+}
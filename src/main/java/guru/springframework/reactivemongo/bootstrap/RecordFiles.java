@@ -0,0 +1,130 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.codecs.CsvTranscoder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads seed files line by line through memory-mapped windows of the file, so a file of any size
+ * is read without being loaded whole or copied through a stream buffer.
+ */
+public final class RecordFiles {
+
+    private static final long WINDOW_SIZE = 64L << 20;
+
+    private RecordFiles() {
+    }
+
+    public static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    /**
+     * @return the non-blank lines of the file, without their terminators
+     */
+    public static Flux<String> lines(Path file) {
+        return Flux.using(() -> FileChannel.open(file, StandardOpenOption.READ),
+                channel -> Flux.<String, MappedLineReader>generate(() -> new MappedLineReader(channel), (reader, sink) -> {
+                    try {
+                        String line = reader.next();
+                        if (line == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(line);
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                    return reader;
+                }),
+                RecordFiles::close)
+            .filter(line -> !line.isBlank())
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @return the rows of a CSV file with a header line, as read by {@link CsvTranscoder#readRow(List, String)}
+     */
+    public static Flux<Map<String, String>> csvRows(Path file) {
+        return lines(file).switchOnFirst((first, lines) -> {
+            if (!first.hasValue()) {
+                return lines.map(line -> Map.<String, String>of());
+            }
+            List<String> header = CsvTranscoder.readFields(first.get());
+            return lines.skip(1).map(line -> CsvTranscoder.readRow(header, line));
+        });
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Walks the lines of one mapped window, mapping the next window from the start of the line
+     * that crosses its end.
+     */
+    private static final class MappedLineReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedLineReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        /**
+         * @return the next line, null at the end of the file
+         */
+        String next() throws IOException {
+            while (true) {
+                int lineStart = window.position();
+                for (int i = lineStart; i < window.limit(); i++) {
+                    if (window.get(i) == '\n') {
+                        window.position(i + 1);
+                        return decode(lineStart, i);
+                    }
+                }
+                if (windowStart + window.limit() == size) {
+                    window.position(window.limit());
+                    return lineStart == window.limit() ? null : decode(lineStart, window.limit());
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + windowStart);
+                }
+                map(windowStart + lineStart);
+            }
+        }
+
+        private void map(long start) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+        }
+
+        private String decode(int from, int to) {
+            int end = to > from && window.get(to - 1) == '\r' ? to - 1 : to;
+            byte[] bytes = new byte[end - from];
+            window.get(from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+    }
+
+}
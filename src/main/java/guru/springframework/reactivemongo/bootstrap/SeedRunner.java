@@ -0,0 +1,31 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.config.SeedProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the database on startup with the {@code seed} profile. Runners finish before the
+ * application reports that it accepts traffic, so it is not ready until seeding is done.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SeedRunner implements ApplicationRunner {
+
+    private final SeedingEngine seedingEngine;
+    private final SeedProperties seedProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Seeding from {} source", seedProperties.getSource());
+        Long seeded = seedingEngine.seed(seedProperties).block();
+        log.info("Seeding done, {} documents inserted", seeded);
+    }
+
+}
@@ -0,0 +1,180 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.InsertManyOptions;
+import guru.springframework.reactivemongo.cache.NearCache;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.config.SeedProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.CustomerMapper;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bulk loads beers and customers from files or the synthetic generator. Documents are written
+ * with the entity codecs in unordered {@code insertMany} batches, a bounded number at a time, so
+ * they skip the converter, auditing and the per-document round trip of the repositories.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeedingEngine {
+
+    public static final String SEEDED_COUNTER = "app.seed.records";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final BeerMapper beerMapper;
+    private final CustomerMapper customerMapper;
+    private final MeterRegistry meterRegistry;
+    private final NearCache<String, BeerDTO> beerByIdCache;
+    private final NearCache<String, BeerDTO> beerByNameCache;
+    private final ResponseCache beerListResponseCache;
+    private final NearCache<String, CustomerDTO> customerByIdCache;
+
+    /**
+     * @return the number of beers and customers inserted
+     */
+    public Mono<Long> seed(SeedProperties seedProperties) {
+        return seedBeers(seedProperties)
+            .flatMap(beers -> seedCustomers(seedProperties).map(customers -> beers + customers));
+    }
+
+    public Mono<Long> seedBeers(SeedProperties seedProperties) {
+        return seed(Beer.class, beers(seedProperties), seedProperties)
+            .doOnSuccess(count -> {
+                beerByIdCache.invalidateAll();
+                beerByNameCache.invalidateAll();
+                beerListResponseCache.invalidateAll();
+            });
+    }
+
+    public Mono<Long> seedCustomers(SeedProperties seedProperties) {
+        return seed(Customer.class, customers(seedProperties), seedProperties)
+            .doOnSuccess(count -> customerByIdCache.invalidateAll());
+    }
+
+    Flux<Beer> beers(SeedProperties seedProperties) {
+        return seedProperties.getSource() == SeedProperties.Source.FILE
+            ? read(seedProperties.getBeersFile(), BeerDTO.class, beerMapper::beerDtoToBeer, this::stamp)
+            : SyntheticData.beers(seedProperties.getBeers());
+    }
+
+    Flux<Customer> customers(SeedProperties seedProperties) {
+        return seedProperties.getSource() == SeedProperties.Source.FILE
+            ? read(seedProperties.getCustomersFile(), CustomerDTO.class, customerMapper::customerDtoToCustomer, this::stamp)
+            : SyntheticData.customers(seedProperties.getCustomers());
+    }
+
+    private <T> Mono<Long> seed(Class<T> type, Flux<T> documents, SeedProperties seedProperties) {
+        String collectionName = reactiveMongoTemplate.getCollectionName(type);
+
+        return prepare(type, collectionName, seedProperties).flatMap(empty -> {
+            if (!empty) {
+                log.info("Collection {} already holds documents, not seeding it", collectionName);
+                return Mono.just(0L);
+            }
+            return insert(type, documents, seedProperties);
+        });
+    }
+
+    /**
+     * @return the number of documents inserted
+     */
+    <T> Mono<Long> insert(Class<T> type, Flux<T> documents, SeedProperties seedProperties) {
+        String collectionName = reactiveMongoTemplate.getCollectionName(type);
+        Counter counter = meterRegistry.counter(SEEDED_COUNTER, "collection", collectionName);
+        AtomicLong inserted = new AtomicLong();
+
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            Disposable progress = Flux.interval(seedProperties.getProgressInterval())
+                .subscribe(tick -> log.info("Seeded {} documents into {}", inserted.get(), collectionName));
+
+            return reactiveMongoTemplate.getCollection(collectionName)
+                .flatMapMany(collection -> documents
+                    .buffer(seedProperties.getBatchSize())
+                    .flatMap(batch -> Mono.from(collection.withDocumentClass(type)
+                            .insertMany(batch, new InsertManyOptions().ordered(false)))
+                        .doOnSuccess(result -> {
+                            inserted.addAndGet(batch.size());
+                            counter.increment(batch.size());
+                        }), seedProperties.getConcurrency(), 1))
+                .then(Mono.fromSupplier(inserted::get))
+                .doOnSuccess(count -> log.info("Seeded {} documents into {} in {}", count, collectionName,
+                    Duration.ofNanos(System.nanoTime() - started)))
+                .doFinally(signal -> progress.dispose());
+        });
+    }
+
+    /**
+     * @return whether the collection is empty and can be seeded, after deleting its documents if
+     * configured to
+     */
+    private Mono<Boolean> prepare(Class<?> type, String collectionName, SeedProperties seedProperties) {
+        if (seedProperties.isDropExisting()) {
+            return reactiveMongoTemplate.remove(new Query(), type)
+                .doOnSuccess(result -> log.info("Deleted {} documents from {}", result.getDeletedCount(), collectionName))
+                .thenReturn(true);
+        }
+        return reactiveMongoTemplate.exists(new Query(), type).map(exists -> !exists);
+    }
+
+    private <D, T> Flux<T> read(Path file, Class<D> dtoClass, Function<D, T> toEntity, BiConsumer<D, LocalDateTime> stamp) {
+        if (file == null) {
+            return Flux.error(new IllegalStateException("No seed file configured for " + dtoClass.getSimpleName()));
+        }
+        Flux<D> dtos = RecordFiles.isCsv(file)
+            ? RecordFiles.csvRows(file).map(row -> objectMapper.convertValue(row, dtoClass))
+            : RecordFiles.lines(file).map(line -> readJson(line, dtoClass));
+
+        return Flux.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return dtos.map(dto -> {
+                stamp.accept(dto, now);
+                return toEntity.apply(dto);
+            });
+        });
+    }
+
+    private <D> D readJson(String line, Class<D> dtoClass) {
+        try {
+            return objectMapper.readValue(line, dtoClass);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid " + dtoClass.getSimpleName() + " record: " + line, e);
+        }
+    }
+
+    private void stamp(BeerDTO beerDTO, LocalDateTime now) {
+        beerDTO.setId(null);
+        beerDTO.setCreatedDate(beerDTO.getCreatedDate() == null ? now : beerDTO.getCreatedDate());
+        beerDTO.setLastModifiedDate(now);
+    }
+
+    private void stamp(CustomerDTO customerDTO, LocalDateTime now) {
+        customerDTO.setId(null);
+        customerDTO.setCreatedDate(customerDTO.getCreatedDate() == null ? now : customerDTO.getCreatedDate());
+        customerDTO.setLastModifiedDate(now);
+    }
+
+}
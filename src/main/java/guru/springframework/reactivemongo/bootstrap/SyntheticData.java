@@ -0,0 +1,60 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Generated beers and customers, derived from their index so that two runs produce the same data.
+ * Generated on demand, so any count is produced in constant memory.
+ */
+public final class SyntheticData {
+
+    private static final List<String> BEER_STYLES = List.of(
+        "IPA", "Pale Ale", "Lager", "Pilsner", "Stout", "Porter", "Wheat", "Saison", "Sour", "Gose");
+
+    private SyntheticData() {
+    }
+
+    public static Flux<Beer> beers(long count) {
+        return Flux.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return indexes(count).map(i -> Beer.builder()
+                .beerName("Beer " + i)
+                .beerStyle(BEER_STYLES.get((int) (i % BEER_STYLES.size())))
+                .upc(String.format("%012d", i))
+                .quantityOnHand((int) (i % 500))
+                .price(BigDecimal.valueOf(499 + i % 2000, 2))
+                .createdDate(now)
+                .lastModifiedDate(now)
+                .build());
+        });
+    }
+
+    public static Flux<Customer> customers(long count) {
+        return Flux.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return indexes(count).map(i -> Customer.builder()
+                .customerName("Customer " + i)
+                .createdDate(now)
+                .lastModifiedDate(now)
+                .build());
+        });
+    }
+
+    private static Flux<Long> indexes(long count) {
+        return Flux.generate(() -> 0L, (i, sink) -> {
+            if (i < count) {
+                sink.next(i);
+            } else {
+                sink.complete();
+            }
+            return i + 1;
+        });
+    }
+
+}
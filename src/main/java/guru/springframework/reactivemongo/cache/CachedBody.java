@@ -0,0 +1,24 @@
+package guru.springframework.reactivemongo.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * An encoded response body with the headers that go with it, and a gzipped copy when the body was
+ * large enough to be worth compressing. The buffers are read-only, so each response is served a
+ * duplicate of them rather than a copy.
+ */
+public record CachedBody(ByteBuffer body, ByteBuffer gzippedBody, Map<String, String> headers) {
+
+    public boolean isGzipped() {
+        return gzippedBody != null;
+    }
+
+    /**
+     * @return the bytes held for this body, what the cache is bounded by
+     */
+    public int weight() {
+        return body.capacity() + (gzippedBody == null ? 0 : gzippedBody.capacity());
+    }
+
+}
@@ -0,0 +1,77 @@
+package guru.springframework.reactivemongo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size and TTL bounded in-process cache in front of a reactive lookup. Caffeine evicts with
+ * W-TinyLFU, so a burst of one-off reads does not push out the hot entries.
+ * <p>
+ * Values are copied on the way in and on the way out, so callers can never change a cached
+ * snapshot through the instance they were handed.
+ * <p>
+ * A value that was being loaded while any entry was invalidated is handed to its caller but not
+ * kept, so a read that started before a write cannot put the old value back after it.
+ */
+public class NearCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final UnaryOperator<V> copier;
+    private final AtomicLong generation = new AtomicLong();
+
+    public NearCache(long maximumSize, Duration timeToLive, UnaryOperator<V> copier) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.copier = copier;
+    }
+
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            V cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(copier.apply(cached));
+            }
+            long loadedIn = generation.get();
+            return loader.apply(key)
+                .doOnNext(value -> {
+                    V copy = copier.apply(value);
+                    cache.put(key, copy);
+                    if (generation.get() != loadedIn) {
+                        cache.asMap().remove(key, copy);
+                    }
+                });
+        });
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<K, V> getNativeCache() {
+        return cache;
+    }
+
+}
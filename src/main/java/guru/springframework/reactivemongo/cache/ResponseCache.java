@@ -0,0 +1,98 @@
+package guru.springframework.reactivemongo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded response bodies by normalized query, for lists many clients read between two writes.
+ * Bounded by the bytes held rather than the number of entries.
+ * <p>
+ * Writers call {@link #invalidateAll()}. A body that was being loaded while a write went through
+ * is handed to its caller but not kept, so it cannot outlive the invalidation.
+ */
+public class ResponseCache {
+
+    private final Cache<String, CachedBody> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final long gzipMinSize;
+
+    /**
+     * @param gzipMinSize smallest body kept gzipped as well, negative to never gzip
+     */
+    public ResponseCache(long maximumBytes, Duration timeToLive, long gzipMinSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((String key, CachedBody cachedBody) -> cachedBody.weight())
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    public Mono<CachedBody> get(String key, Function<String, Mono<CachedBody>> loader) {
+        return Mono.defer(() -> {
+            CachedBody cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long loadedIn = generation.get();
+            return loader.apply(key)
+                .doOnNext(cachedBody -> {
+                    cache.put(key, cachedBody);
+                    if (generation.get() != loadedIn) {
+                        cache.asMap().remove(key, cachedBody);
+                    }
+                });
+        });
+    }
+
+    /**
+     * @return the body as it is kept, gzipped as well when it is large enough
+     */
+    public CachedBody body(byte[] body, Map<String, String> headers) {
+        ByteBuffer gzippedBody = gzipMinSize >= 0 && body.length >= gzipMinSize
+            ? ByteBuffer.wrap(gzip(body)).asReadOnlyBuffer()
+            : null;
+
+        return new CachedBody(ByteBuffer.wrap(body).asReadOnlyBuffer(), gzippedBody, Map.copyOf(headers));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<String, CachedBody> getNativeCache() {
+        return cache;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
@@ -0,0 +1,69 @@
+package guru.springframework.reactivemongo.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent identical lookups into one: while a lookup for a key is in flight, every
+ * other subscriber for that key joins it instead of starting its own. Nothing is kept once the
+ * lookup terminates, so the next subscriber after that queries again.
+ * <p>
+ * Joining subscribers receive every element from the start, and each of them gets its own copy,
+ * as with {@link NearCache}.
+ * <p>
+ * A lookup that started before a write would hand the old value to a read that starts after it,
+ * which a cache in front would then keep as current. Writers therefore {@link #forget} the key
+ * before invalidating the cache.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flux<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copier;
+
+    public SingleFlight(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    public Mono<V> mono(K key, Function<K, Mono<V>> loader) {
+        return flux(key, k -> loader.apply(k).flux()).next();
+    }
+
+    public Flux<V> flux(K key, Function<K, Flux<V>> loader) {
+        return Flux.defer(() -> inFlight.computeIfAbsent(key, k -> {
+                AtomicReference<Flux<V>> lookup = new AtomicReference<>();
+                lookup.set(loader.apply(k)
+                    // Runs once the shared lookup has delivered its last signal to the current subscribers,
+                    // and leaves alone a newer lookup started after this one was forgotten.
+                    .doFinally(signalType -> inFlight.remove(k, lookup.get()))
+                    .cache());
+                return lookup.get();
+            }))
+            .map(copier);
+    }
+
+    /**
+     * Makes subscribers from now on start a new lookup for the key; those that already joined the
+     * one in flight still get its result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * @return keys with a lookup in flight right now
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+}
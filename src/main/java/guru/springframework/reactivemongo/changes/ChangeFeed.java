@@ -0,0 +1,124 @@
+package guru.springframework.reactivemongo.changes;
+
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Change stream on one collection, fanned out to any number of subscribers.
+ * <p>
+ * Subscribers that start "from now" share a single upstream cursor, which is opened with the
+ * first subscriber and closed with the last one. A subscriber resuming after a token gets its own
+ * cursor, since it has to replay events the shared one has already passed. Each subscriber has a
+ * bounded buffer; one that falls further behind is disconnected and can resume from the last
+ * token it received instead of slowing down everybody else.
+ */
+@Slf4j
+public class ChangeFeed<T, D> {
+
+    private static final String RESUME_TOKEN_DATA = "_data";
+    private static final String ID = "_id";
+    private static final Pattern RESUME_TOKEN = Pattern.compile("[0-9A-Fa-f]+");
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final String collectionName;
+    private final Class<T> type;
+    private final Function<T, D> mapper;
+    private final int bufferSize;
+
+    private final AtomicReference<BsonValue> lastResumeToken = new AtomicReference<>();
+    private final Flux<ChangeEventDTO<D>> shared;
+
+    public ChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate, Class<T> type, Function<T, D> mapper, int bufferSize) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.collectionName = reactiveMongoTemplate.getCollectionName(type);
+        this.type = type;
+        this.mapper = mapper;
+        this.bufferSize = bufferSize;
+
+        // After a network error the shared cursor reopens where it stopped, so no subscriber misses
+        // an event. Once the last subscriber leaves the position is dropped and the next one starts
+        // from now.
+        this.shared = Flux.defer(() -> watch(lastResumeToken.get()))
+            .doOnNext(changeStreamEvent -> lastResumeToken.set(changeStreamEvent.getResumeToken()))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                .maxBackoff(MAX_BACKOFF)
+                .filter(ChangeFeed::isTransient)
+                .doBeforeRetry(retrySignal -> log.warn("Change stream on {} failed, reopening", collectionName,
+                    retrySignal.failure())))
+            .doOnCancel(() -> lastResumeToken.set(null))
+            .map(this::toChangeEvent)
+            .share();
+    }
+
+    /**
+     * @param resumeToken token of the last event the subscriber has seen, or {@code null} to
+     *                    receive changes from now on
+     */
+    public Flux<ChangeEventDTO<D>> changes(String resumeToken) {
+        Flux<ChangeEventDTO<D>> changes = resumeToken == null ? shared :
+            watch(new BsonDocument(RESUME_TOKEN_DATA, new BsonString(resumeToken))).map(this::toChangeEvent);
+
+        return changes.onBackpressureBuffer(bufferSize);
+    }
+
+    public static boolean isValidResumeToken(String resumeToken) {
+        return RESUME_TOKEN.matcher(resumeToken).matches();
+    }
+
+    private Flux<ChangeStreamEvent<T>> watch(BsonValue resumeToken) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+            .returnFullDocumentOnUpdate();
+        if (resumeToken != null) {
+            options.resumeAfter(resumeToken);
+        }
+        return reactiveMongoTemplate.changeStream(collectionName, options.build(), type);
+    }
+
+    private ChangeEventDTO<D> toChangeEvent(ChangeStreamEvent<T> changeStreamEvent) {
+        T body = changeStreamEvent.getBody();
+
+        return ChangeEventDTO.<D>builder()
+            .operationType(changeStreamEvent.getOperationType() == null ? null :
+                changeStreamEvent.getOperationType().getValue())
+            .id(documentId(changeStreamEvent))
+            .resumeToken(changeStreamEvent.getResumeToken().asDocument().getString(RESUME_TOKEN_DATA).getValue())
+            .timestamp(changeStreamEvent.getTimestamp())
+            .document(body == null ? null : mapper.apply(body))
+            .build();
+    }
+
+    private static String documentId(ChangeStreamEvent<?> changeStreamEvent) {
+        if (changeStreamEvent.getRaw() == null || changeStreamEvent.getRaw().getDocumentKey() == null) {
+            return null;
+        }
+        BsonValue id = changeStreamEvent.getRaw().getDocumentKey().get(ID);
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.toString();
+    }
+
+    private static boolean isTransient(Throwable throwable) {
+        return throwable instanceof DataAccessResourceFailureException
+            || throwable instanceof TransientDataAccessException;
+    }
+
+}
@@ -0,0 +1,60 @@
+package guru.springframework.reactivemongo.codecs;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Reads and writes {@link Beer} documents field by field, in the same layout as
+ * {@code MappingMongoConverter}.
+ */
+public class BeerCodec implements Codec<Beer> {
+
+    @Override
+    public Beer decode(BsonReader reader, DecoderContext decoderContext) {
+        Beer.BeerBuilder builder = Beer.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case BsonFields.ID -> builder.id(BsonFields.readId(reader));
+                case "beerName" -> builder.beerName(BsonFields.readString(reader));
+                case "beerStyle" -> builder.beerStyle(BsonFields.readString(reader));
+                case "upc" -> builder.upc(BsonFields.readString(reader));
+                case "quantityOnHand" -> builder.quantityOnHand(BsonFields.readInteger(reader));
+                case "price" -> builder.price(BsonFields.readBigDecimal(reader));
+                case "createdDate" -> builder.createdDate(BsonFields.readLocalDateTime(reader));
+                case "lastModifiedDate" -> builder.lastModifiedDate(BsonFields.readLocalDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Beer value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, value.getId());
+        BsonFields.writeString(writer, "beerName", value.getBeerName());
+        BsonFields.writeString(writer, "beerStyle", value.getBeerStyle());
+        BsonFields.writeString(writer, "upc", value.getUpc());
+        BsonFields.writeInteger(writer, "quantityOnHand", value.getQuantityOnHand());
+        BsonFields.writeBigDecimal(writer, "price", value.getPrice());
+        BsonFields.writeLocalDateTime(writer, "createdDate", value.getCreatedDate());
+        BsonFields.writeLocalDateTime(writer, "lastModifiedDate", value.getLastModifiedDate());
+        writer.writeString(BsonFields.CLASS, Beer.class.getName());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Beer> getEncoderClass() {
+        return Beer.class;
+    }
+
+}
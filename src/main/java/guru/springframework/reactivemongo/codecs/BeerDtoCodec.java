@@ -0,0 +1,59 @@
+package guru.springframework.reactivemongo.codecs;
+
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Decodes beer documents straight into {@link BeerDTO}, skipping the intermediate {@code Document},
+ * the entity and the mapper. Fields missing from a projection stay null.
+ */
+public class BeerDtoCodec implements Codec<BeerDTO> {
+
+    @Override
+    public BeerDTO decode(BsonReader reader, DecoderContext decoderContext) {
+        BeerDTO.BeerDTOBuilder builder = BeerDTO.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case BsonFields.ID -> builder.id(BsonFields.readId(reader));
+                case "beerName" -> builder.beerName(BsonFields.readString(reader));
+                case "beerStyle" -> builder.beerStyle(BsonFields.readString(reader));
+                case "upc" -> builder.upc(BsonFields.readString(reader));
+                case "quantityOnHand" -> builder.quantityOnHand(BsonFields.readInteger(reader));
+                case "price" -> builder.price(BsonFields.readBigDecimal(reader));
+                case "createdDate" -> builder.createdDate(BsonFields.readLocalDateTime(reader));
+                case "lastModifiedDate" -> builder.lastModifiedDate(BsonFields.readLocalDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, BeerDTO value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, value.getId());
+        BsonFields.writeString(writer, "beerName", value.getBeerName());
+        BsonFields.writeString(writer, "beerStyle", value.getBeerStyle());
+        BsonFields.writeString(writer, "upc", value.getUpc());
+        BsonFields.writeInteger(writer, "quantityOnHand", value.getQuantityOnHand());
+        BsonFields.writeBigDecimal(writer, "price", value.getPrice());
+        BsonFields.writeLocalDateTime(writer, "createdDate", value.getCreatedDate());
+        BsonFields.writeLocalDateTime(writer, "lastModifiedDate", value.getLastModifiedDate());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<BeerDTO> getEncoderClass() {
+        return BeerDTO.class;
+    }
+
+}
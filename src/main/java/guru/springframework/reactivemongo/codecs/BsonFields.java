@@ -0,0 +1,108 @@
+package guru.springframework.reactivemongo.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reads and writes field values in the representation {@code MappingMongoConverter} uses, so
+ * documents written either way can be read either way: ids as object ids where they parse as one,
+ * {@code BigDecimal} as a string and {@code LocalDateTime} as a date in the system time zone.
+ * Null values are read as null and not written at all.
+ */
+final class BsonFields {
+
+    static final String ID = "_id";
+    static final String CLASS = "_class";
+
+    private BsonFields() {
+    }
+
+    static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case NULL -> readNull(reader);
+            default -> reader.readString();
+        };
+    }
+
+    static String readString(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.NULL ? readNull(reader) : reader.readString();
+    }
+
+    static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> Math.toIntExact(reader.readInt64());
+            case DOUBLE -> (int) reader.readDouble();
+            case NULL -> readNull(reader);
+            default -> throw new IllegalStateException("Expected an integer but found " + reader.getCurrentBsonType());
+        };
+    }
+
+    static BigDecimal readBigDecimal(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> new BigDecimal(reader.readString());
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+            case DOUBLE -> BigDecimal.valueOf(reader.readDouble());
+            case INT32 -> BigDecimal.valueOf(reader.readInt32());
+            case INT64 -> BigDecimal.valueOf(reader.readInt64());
+            case NULL -> readNull(reader);
+            default -> throw new IllegalStateException("Expected a decimal but found " + reader.getCurrentBsonType());
+        };
+    }
+
+    static LocalDateTime readLocalDateTime(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            return readNull(reader);
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneId.systemDefault());
+    }
+
+    static void writeId(BsonWriter writer, String id) {
+        if (id == null) {
+            return;
+        }
+        if (ObjectId.isValid(id)) {
+            writer.writeObjectId(ID, new ObjectId(id));
+        } else {
+            writer.writeString(ID, id);
+        }
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    static void writeInteger(BsonWriter writer, String name, Integer value) {
+        if (value != null) {
+            writer.writeInt32(name, value);
+        }
+    }
+
+    static void writeBigDecimal(BsonWriter writer, String name, BigDecimal value) {
+        if (value != null) {
+            writer.writeString(name, value.toString());
+        }
+    }
+
+    static void writeLocalDateTime(BsonWriter writer, String name, LocalDateTime value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private static <T> T readNull(BsonReader reader) {
+        reader.readNull();
+        return null;
+    }
+
+}
@@ -0,0 +1,163 @@
+package guru.springframework.reactivemongo.codecs;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV lines into rows, and writes raw documents as CSV rows with a fixed set of columns, in
+ * the same representation {@link JsonTranscoder} uses: {@code _id} is the {@code id} column, dates
+ * are ISO local date times and decimals are written as stored. Fields missing from a document are
+ * empty cells, and values holding a comma, quote or line break are quoted.
+ */
+@Component
+public class CsvTranscoder {
+
+    private static final String ID = "id";
+
+    /**
+     * @return the header line naming the columns
+     */
+    public DataBuffer writeHeader(List<String> columns, DataBufferFactory dataBufferFactory) {
+        return dataBufferFactory.wrap((String.join(",", columns) + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public DataBuffer writeRows(List<RawBsonDocument> documents, List<String> columns,
+                                DataBufferFactory dataBufferFactory) {
+        StringBuilder rows = new StringBuilder(documents.size() * 128);
+        String[] cells = new String[columns.size()];
+
+        for (RawBsonDocument document : documents) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+                readCells(reader, columns, cells);
+            }
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    rows.append(',');
+                }
+                appendCell(rows, cells[i]);
+            }
+            rows.append("\r\n");
+        }
+
+        DataBuffer dataBuffer = dataBufferFactory.allocateBuffer(rows.length());
+        try {
+            return dataBuffer.write(rows, StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(dataBuffer);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the fields of one line. Fields may be quoted to hold commas, with {@code ""} for a
+     * quote; a field cannot span lines.
+     */
+    public static List<String> readFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * @return the line as column name to value, leaving out empty fields
+     */
+    public static Map<String, String> readRow(List<String> header, String line) {
+        List<String> fields = readFields(line);
+        Map<String, String> row = new LinkedHashMap<>();
+
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty()) {
+                row.put(header.get(i), fields.get(i));
+            }
+        }
+        return row;
+    }
+
+    private static void readCells(BsonReader reader, List<String> columns, String[] cells) {
+        Arrays.fill(cells, null);
+        reader.readStartDocument();
+
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            int column = columns.indexOf(BsonFields.ID.equals(name) ? ID : name);
+            if (column < 0) {
+                reader.skipValue();
+            } else {
+                cells[column] = readValue(reader);
+            }
+        }
+
+        reader.readEndDocument();
+    }
+
+    private static String readValue(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case INT32 -> Integer.toString(reader.readInt32());
+            case INT64 -> Long.toString(reader.readInt64());
+            case DOUBLE -> Double.toString(reader.readDouble());
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue().toPlainString();
+            case BOOLEAN -> Boolean.toString(reader.readBoolean());
+            case DATE_TIME -> DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneId.systemDefault()));
+            case NULL -> {
+                reader.readNull();
+                yield null;
+            }
+            default -> throw new IllegalStateException("Cannot write " + reader.getCurrentBsonType() + " as CSV");
+        };
+    }
+
+    private static void appendCell(StringBuilder rows, String cell) {
+        if (cell == null) {
+            return;
+        }
+        if (cell.indexOf(',') < 0 && cell.indexOf('"') < 0 && cell.indexOf('\n') < 0 && cell.indexOf('\r') < 0) {
+            rows.append(cell);
+            return;
+        }
+        rows.append('"').append(cell.replace("\"", "\"\"")).append('"');
+    }
+
+}
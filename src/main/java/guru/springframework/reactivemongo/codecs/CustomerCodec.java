@@ -0,0 +1,52 @@
+package guru.springframework.reactivemongo.codecs;
+
+import guru.springframework.reactivemongo.domain.Customer;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Reads and writes {@link Customer} documents field by field, in the same layout as
+ * {@code MappingMongoConverter}.
+ */
+public class CustomerCodec implements Codec<Customer> {
+
+    @Override
+    public Customer decode(BsonReader reader, DecoderContext decoderContext) {
+        Customer.CustomerBuilder builder = Customer.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case BsonFields.ID -> builder.id(BsonFields.readId(reader));
+                case "customerName" -> builder.customerName(BsonFields.readString(reader));
+                case "createdDate" -> builder.createdDate(BsonFields.readLocalDateTime(reader));
+                case "lastModifiedDate" -> builder.lastModifiedDate(BsonFields.readLocalDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Customer value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, value.getId());
+        BsonFields.writeString(writer, "customerName", value.getCustomerName());
+        BsonFields.writeLocalDateTime(writer, "createdDate", value.getCreatedDate());
+        BsonFields.writeLocalDateTime(writer, "lastModifiedDate", value.getLastModifiedDate());
+        writer.writeString(BsonFields.CLASS, Customer.class.getName());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Customer> getEncoderClass() {
+        return Customer.class;
+    }
+
+}
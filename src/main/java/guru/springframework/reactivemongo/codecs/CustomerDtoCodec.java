@@ -0,0 +1,51 @@
+package guru.springframework.reactivemongo.codecs;
+
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Decodes customer documents straight into {@link CustomerDTO}, skipping the intermediate
+ * {@code Document}, the entity and the mapper. Fields missing from a projection stay null.
+ */
+public class CustomerDtoCodec implements Codec<CustomerDTO> {
+
+    @Override
+    public CustomerDTO decode(BsonReader reader, DecoderContext decoderContext) {
+        CustomerDTO.CustomerDTOBuilder builder = CustomerDTO.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case BsonFields.ID -> builder.id(BsonFields.readId(reader));
+                case "customerName" -> builder.customerName(BsonFields.readString(reader));
+                case "createdDate" -> builder.createdDate(BsonFields.readLocalDateTime(reader));
+                case "lastModifiedDate" -> builder.lastModifiedDate(BsonFields.readLocalDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, CustomerDTO value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, value.getId());
+        BsonFields.writeString(writer, "customerName", value.getCustomerName());
+        BsonFields.writeLocalDateTime(writer, "createdDate", value.getCreatedDate());
+        BsonFields.writeLocalDateTime(writer, "lastModifiedDate", value.getLastModifiedDate());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<CustomerDTO> getEncoderClass() {
+        return CustomerDTO.class;
+    }
+
+}
@@ -0,0 +1,61 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs a query against an entity's collection but decodes the results with the codec of a DTO,
+ * or leaves them as {@code RawBsonDocument}s, so list reads skip the converter and the mapper.
+ * The query is mapped the same way the template maps it, property names, id conversion,
+ * collation and index hint included.
+ */
+@Component
+public class DtoFinder {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final QueryMapper queryMapper;
+
+    public DtoFinder(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.queryMapper = new QueryMapper(reactiveMongoTemplate.getConverter());
+    }
+
+    public <T> Flux<T> find(Query query, Class<?> entityClass, Class<T> dtoClass) {
+        MongoPersistentEntity<?> entity = reactiveMongoTemplate.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(entityClass);
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document projection = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+
+        return reactiveMongoTemplate.getCollection(entity.getCollection())
+            .flatMapMany(collection -> {
+                FindPublisher<T> findPublisher = collection.withDocumentClass(dtoClass)
+                    .find(filter)
+                    .projection(projection)
+                    .sort(sort)
+                    .skip((int) query.getSkip())
+                    .limit(query.getLimit());
+                query.getCollation().map(Collation::toMongoCollation).ifPresent(findPublisher::collation);
+                String hint = query.getHint();
+                if (StringUtils.hasText(hint)) {
+                    if (hint.startsWith("{")) {
+                        findPublisher.hint(Document.parse(hint));
+                    } else {
+                        findPublisher.hintString(hint);
+                    }
+                }
+                Integer batchSize = query.getMeta().getCursorBatchSize();
+
+                return batchSize == null ? findPublisher : findPublisher.batchSize(batchSize);
+            });
+    }
+
+}
@@ -0,0 +1,21 @@
+package guru.springframework.reactivemongo.codecs;
+
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * The hand-written codecs, ahead of the driver's defaults.
+ */
+public final class EntityCodecs {
+
+    private static final CodecRegistry CODECS = CodecRegistries.fromCodecs(
+        new BeerCodec(), new CustomerCodec(), new BeerDtoCodec(), new CustomerDtoCodec());
+
+    private EntityCodecs() {
+    }
+
+    public static CodecRegistry withDefaults(CodecRegistry defaults) {
+        return CodecRegistries.fromRegistries(CODECS, defaults);
+    }
+
+}
@@ -0,0 +1,47 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Reads protobuf messages into the classes {@link JacksonProtobufEncoder} writes. A body holds one
+ * message, so a stream of elements is read as a single one.
+ */
+public class JacksonProtobufDecoder extends AbstractJackson2Decoder {
+
+    private final Map<Class<?>, ProtobufSchema> schemas;
+
+    public JacksonProtobufDecoder(ProtobufMapper protobufMapper, Map<Class<?>, ProtobufSchema> schemas,
+                                  MimeType... mimeTypes) {
+        super(protobufMapper, mimeTypes);
+        this.schemas = schemas;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        // Only on an explicit protobuf type, so that untyped bodies keep going to JSON.
+        return mimeType != null && schemas.containsKey(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType,
+                               Map<String, Object> hints) {
+        // Protobuf has no framing of its own, so the non-blocking token stream cannot split it.
+        return decodeToMono(input, elementType, mimeType, hints).flux();
+    }
+
+    @Override
+    protected ObjectReader customizeReader(ObjectReader reader, ResolvableType elementType, Map<String, Object> hints) {
+        return reader.with(schemas.get(elementType.toClass()));
+    }
+
+}
@@ -0,0 +1,38 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+/**
+ * Writes single objects as protobuf messages, with the schema Jackson derives from their class.
+ * Only classes with a schema can be written; collections and streams cannot.
+ */
+public class JacksonProtobufEncoder extends AbstractJackson2Encoder {
+
+    private final Map<Class<?>, ProtobufSchema> schemas;
+
+    public JacksonProtobufEncoder(ProtobufMapper protobufMapper, Map<Class<?>, ProtobufSchema> schemas,
+                                  MimeType... mimeTypes) {
+        super(protobufMapper, mimeTypes);
+        this.schemas = schemas;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        // Only on an explicit protobuf type, so that untyped bodies keep going to JSON.
+        return mimeType != null && schemas.containsKey(elementType.toClass()) && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType, ResolvableType elementType,
+                                           Map<String, Object> hints) {
+        return writer.with(schemas.get(elementType.toClass()));
+    }
+
+}
@@ -0,0 +1,199 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes raw documents as the JSON the DTOs would serialize to, without decoding them into
+ * objects first: {@code _id} becomes {@code id}, dates are written as {@code LocalDateTime} by the
+ * application's object mapper and decimals stored as strings are written as numbers. Only the
+ * given top-level fields are written, so {@code _class} and an {@code _id} that was not asked for
+ * are dropped, and those absent from a document are written as null after the others.
+ */
+@Component
+public class JsonTranscoder {
+
+    private static final String ID = "id";
+
+    private final ObjectMapper objectMapper;
+
+    public JsonTranscoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param fields        the top-level fields to write, by their JSON names
+     * @param decimalFields top-level fields holding a {@code BigDecimal} stored as a string
+     * @return the documents as one JSON array
+     */
+    public DataBuffer writeArray(List<RawBsonDocument> documents, Collection<String> fields, Set<String> decimalFields,
+                                 DataBufferFactory dataBufferFactory) {
+        DataBuffer dataBuffer = dataBufferFactory.allocateBuffer(documents.size() * 256);
+        try {
+            writeArray(documents, fields, decimalFields, dataBuffer.asOutputStream());
+            return dataBuffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(dataBuffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(dataBuffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #writeArray(List, Collection, Set, DataBufferFactory)}, for a body that is kept
+     * rather than written once.
+     */
+    public byte[] writeArray(List<RawBsonDocument> documents, Collection<String> fields, Set<String> decimalFields) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(documents.size() * 256);
+        try {
+            writeArray(documents, fields, decimalFields, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * @return the documents as newline-delimited JSON, one document per line
+     */
+    public DataBuffer writeLines(List<RawBsonDocument> documents, Collection<String> fields, Set<String> decimalFields,
+                                 DataBufferFactory dataBufferFactory) {
+        DataBuffer dataBuffer = dataBufferFactory.allocateBuffer(documents.size() * 256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(dataBuffer.asOutputStream())) {
+            generator.setRootValueSeparator(null);
+            for (RawBsonDocument document : documents) {
+                try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+                    writeTopLevel(reader, generator, fields, decimalFields);
+                }
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            DataBufferUtils.release(dataBuffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(dataBuffer);
+            throw e;
+        }
+        return dataBuffer;
+    }
+
+    private void writeArray(List<RawBsonDocument> documents, Collection<String> fields, Set<String> decimalFields,
+                            OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (RawBsonDocument document : documents) {
+                try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+                    writeTopLevel(reader, generator, fields, decimalFields);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * @return the id of a document as written to the JSON
+     */
+    public static String id(RawBsonDocument document) {
+        return document.get(BsonFields.ID).isObjectId()
+            ? document.getObjectId(BsonFields.ID).getValue().toHexString()
+            : document.getString(BsonFields.ID).getValue();
+    }
+
+    private void writeTopLevel(BsonReader reader, JsonGenerator generator, Collection<String> fields,
+                               Set<String> decimalFields) throws IOException {
+        reader.readStartDocument();
+        generator.writeStartObject();
+
+        Set<String> written = new HashSet<>();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            String field = BsonFields.ID.equals(name) ? ID : name;
+            if (!fields.contains(field)) {
+                reader.skipValue();
+                continue;
+            }
+
+            generator.writeFieldName(field);
+            written.add(field);
+            if (decimalFields.contains(name) && reader.getCurrentBsonType() == BsonType.STRING) {
+                generator.writeNumber(new BigDecimal(reader.readString()));
+            } else {
+                writeValue(reader, generator);
+            }
+        }
+        for (String field : fields) {
+            if (!written.contains(field)) {
+                generator.writeNullField(field);
+            }
+        }
+
+        reader.readEndDocument();
+        generator.writeEndObject();
+    }
+
+    private void writeDocument(BsonReader reader, JsonGenerator generator) throws IOException {
+        reader.readStartDocument();
+        generator.writeStartObject();
+
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            generator.writeFieldName(reader.readName());
+            writeValue(reader, generator);
+        }
+
+        reader.readEndDocument();
+        generator.writeEndObject();
+    }
+
+    private void writeValue(BsonReader reader, JsonGenerator generator) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case STRING -> generator.writeString(reader.readString());
+            case OBJECT_ID -> generator.writeString(reader.readObjectId().toHexString());
+            case INT32 -> generator.writeNumber(reader.readInt32());
+            case INT64 -> generator.writeNumber(reader.readInt64());
+            case DOUBLE -> generator.writeNumber(reader.readDouble());
+            case DECIMAL128 -> generator.writeNumber(reader.readDecimal128().bigDecimalValue());
+            case BOOLEAN -> generator.writeBoolean(reader.readBoolean());
+            case DATE_TIME -> generator.writeObject(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneId.systemDefault()));
+            case NULL -> {
+                reader.readNull();
+                generator.writeNull();
+            }
+            case DOCUMENT -> writeDocument(reader, generator);
+            case ARRAY -> {
+                reader.readStartArray();
+                generator.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writeValue(reader, generator);
+                }
+                reader.readEndArray();
+                generator.writeEndArray();
+            }
+            default -> throw new IllegalStateException("Cannot write " + reader.getCurrentBsonType() + " as JSON");
+        }
+    }
+
+}
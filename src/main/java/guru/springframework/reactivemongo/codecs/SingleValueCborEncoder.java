@@ -0,0 +1,40 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR encoder for single values. The Spring one refuses every publisher, including a Mono, and
+ * lists are written as one value anyway. Only bodies typed as CBOR are taken, since custom codecs
+ * are consulted before the default JSON one.
+ */
+public class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+    public SingleValueCborEncoder(ObjectMapper cborMapper) {
+        super(cborMapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        return Mono.from(inputStream)
+            .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+            .flux();
+    }
+
+}
@@ -0,0 +1,20 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.batch")
+public class BatchProperties {
+
+    /**
+     * Number of documents sent to Mongo in one insert command.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Number of chunks of an import written at the same time.
+     */
+    private int importConcurrency = 4;
+
+}
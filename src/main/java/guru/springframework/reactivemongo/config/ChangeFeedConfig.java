@@ -0,0 +1,32 @@
+package guru.springframework.reactivemongo.config;
+
+import guru.springframework.reactivemongo.changes.ChangeFeed;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.CustomerMapper;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+@Configuration
+public class ChangeFeedConfig {
+
+    @Bean
+    public ChangeFeed<Beer, BeerDTO> beerChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate, BeerMapper beerMapper,
+                                                   ChangeFeedProperties changeFeedProperties) {
+        return new ChangeFeed<>(reactiveMongoTemplate, Beer.class, beerMapper::beerToBeerDto,
+            changeFeedProperties.getBufferSize());
+    }
+
+    @Bean
+    public ChangeFeed<Customer, CustomerDTO> customerChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate,
+                                                               CustomerMapper customerMapper,
+                                                               ChangeFeedProperties changeFeedProperties) {
+        return new ChangeFeed<>(reactiveMongoTemplate, Customer.class, customerMapper::customerToCustomerDto,
+            changeFeedProperties.getBufferSize());
+    }
+
+}
@@ -0,0 +1,15 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    /**
+     * Events buffered per subscriber before a slow subscriber is disconnected.
+     */
+    private int bufferSize = 256;
+
+}
@@ -0,0 +1,68 @@
+package guru.springframework.reactivemongo.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import guru.springframework.reactivemongo.codecs.JacksonProtobufDecoder;
+import guru.springframework.reactivemongo.codecs.JacksonProtobufEncoder;
+import guru.springframework.reactivemongo.codecs.SingleValueCborDecoder;
+import guru.springframework.reactivemongo.codecs.SingleValueCborEncoder;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import guru.springframework.reactivemongo.web.fn.ObjectMediaTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * CBOR, Smile and protobuf codecs for the DTOs. Each mapper is built from the application's
+ * Jackson settings, so dates and nulls come out the same way as in JSON.
+ */
+@Configuration
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders)
+        throws JsonMappingException {
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+
+        ProtobufMapper protobufMapper = protobufMapper(builders.getObject());
+        Map<Class<?>, ProtobufSchema> schemas = Map.of(
+            BeerDTO.class, protobufMapper.generateSchemaFor(BeerDTO.class),
+            CustomerDTO.class, protobufMapper.generateSchemaFor(CustomerDTO.class));
+
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(
+                new Jackson2SmileEncoder(smileMapper, ObjectMediaTypes.APPLICATION_SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(
+                new Jackson2SmileDecoder(smileMapper, ObjectMediaTypes.APPLICATION_SMILE));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cborMapper));
+            configurer.customCodecs().register(new SingleValueCborDecoder(cborMapper));
+            configurer.customCodecs().register(
+                new JacksonProtobufEncoder(protobufMapper, schemas, ObjectMediaTypes.APPLICATION_PROTOBUF));
+            configurer.customCodecs().register(
+                new JacksonProtobufDecoder(protobufMapper, schemas, ObjectMediaTypes.APPLICATION_PROTOBUF));
+        };
+    }
+
+    public static ProtobufMapper protobufMapper(Jackson2ObjectMapperBuilder builder) {
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        builder.configure(protobufMapper);
+        // Protobuf has no decimal type; a string keeps prices exact where a double would not.
+        protobufMapper.configOverride(BigDecimal.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
+        return protobufMapper;
+    }
+
+}
@@ -0,0 +1,15 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    /**
+     * Documents fetched per cursor batch and encoded into one response buffer.
+     */
+    private int batchSize = 1000;
+
+}
@@ -0,0 +1,33 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Opt-in buffering of inventory deltas. While enabled, adjustments are acknowledged before they
+ * reach Mongo and reservations are not checked against the stock on hand.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.inventory.write-behind")
+public class InventoryWriteBehindProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Longest a buffered delta waits before it is written, which bounds how stale reads can be.
+     */
+    private Duration maxDelay = Duration.ofMillis(100);
+
+    /**
+     * Distinct beers with pending deltas that trigger a flush before the delay is up.
+     */
+    private int maxPending = 1000;
+
+    /**
+     * How long shutdown waits for the final flush.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+}
@@ -0,0 +1,94 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection settings applied to the driver's {@code MongoClientSettings}. Durations of zero mean
+ * "no limit", as they do in the driver.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.mongo.client")
+public class MongoClientProperties {
+
+    /**
+     * Seed list as host:port entries.
+     */
+    private List<String> hosts = new ArrayList<>(List.of("127.0.0.1:27017"));
+
+    /**
+     * User to authenticate as; no credential is sent when empty.
+     */
+    private String username;
+
+    private String password;
+
+    private String authenticationDatabase = "admin";
+
+    /**
+     * Wire compressors in order of preference: zstd, snappy or zlib. zstd and snappy need their
+     * libraries on the classpath.
+     */
+    private List<String> compressors = new ArrayList<>();
+
+    private final Pool pool = new Pool();
+
+    private final Socket socket = new Socket();
+
+    private final ServerSelection serverSelection = new ServerSelection();
+
+    @Data
+    public static class Pool {
+
+        private int maxSize = 100;
+
+        /**
+         * Connections kept open per server; they are also opened at startup before the
+         * application reports ready.
+         */
+        private int minSize = 0;
+
+        /**
+         * How long a request waits for a free connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofMinutes(2);
+
+        private Duration maxConnectionLifeTime = Duration.ZERO;
+
+        private Duration maxConnectionIdleTime = Duration.ZERO;
+
+        /**
+         * Connections a pool may be establishing at the same time.
+         */
+        private int maxConnecting = 2;
+
+        private Duration maintenanceFrequency = Duration.ofMinutes(1);
+
+    }
+
+    @Data
+    public static class Socket {
+
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        private Duration readTimeout = Duration.ZERO;
+
+    }
+
+    @Data
+    public static class ServerSelection {
+
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * Latency window within which servers are considered equally suitable.
+         */
+        private Duration localThreshold = Duration.ofMillis(15);
+
+    }
+
+}
@@ -1,24 +1,34 @@
 package guru.springframework.reactivemongo.config;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.MongoCredential;
 import com.mongodb.ServerAddress;
-import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
-import org.springframework.context.annotation.Bean;
+import guru.springframework.reactivemongo.codecs.EntityCodecs;
+import guru.springframework.reactivemongo.metrics.MongoCommandMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 
-import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class MongoConfig extends AbstractReactiveMongoConfiguration {
 
+    private static final Document PING = new Document("ping", 1);
 
-    @Bean
-    public MongoClient mongoClient() {
-        return MongoClients.create();
-    }
+    private final MongoClientProperties mongoClientProperties;
+    private final MongoConnectionPoolStats mongoConnectionPoolStats;
+    private final MongoCommandMetrics mongoCommandMetrics;
 
     @Override
     protected String getDatabaseName() {
@@ -27,10 +37,74 @@ public class MongoConfig extends AbstractReactiveMongoConfiguration {
 
     @Override
     protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        MongoClientProperties.Pool pool = mongoClientProperties.getPool();
+        MongoClientProperties.Socket socket = mongoClientProperties.getSocket();
+        MongoClientProperties.ServerSelection serverSelection = mongoClientProperties.getServerSelection();
+
+        if (StringUtils.hasText(mongoClientProperties.getUsername())) {
+            builder.credential(MongoCredential.createCredential(mongoClientProperties.getUsername(),
+                mongoClientProperties.getAuthenticationDatabase(), passwordChars()));
+        }
+
         builder
-            .credential(MongoCredential.createCredential("root", "admin", "example".toCharArray()))
-            .applyToClusterSettings(settings -> settings.hosts(Collections.singletonList(
-                new ServerAddress("127.0.0.1", 27017)
-            )));
+            .codecRegistry(EntityCodecs.withDefaults(MongoClientSettings.getDefaultCodecRegistry()))
+            .addCommandListener(mongoCommandMetrics)
+            .compressorList(mongoClientProperties.getCompressors().stream().map(MongoConfig::compressor).toList())
+            .applyToClusterSettings(settings -> settings
+                .hosts(mongoClientProperties.getHosts().stream().map(ServerAddress::new).toList())
+                .serverSelectionTimeout(serverSelection.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .localThreshold(serverSelection.getLocalThreshold().toMillis(), TimeUnit.MILLISECONDS))
+            .applyToConnectionPoolSettings(settings -> settings
+                .maxSize(pool.getMaxSize())
+                .minSize(pool.getMinSize())
+                .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnecting(pool.getMaxConnecting())
+                .maintenanceFrequency(pool.getMaintenanceFrequency().toMillis(), TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(mongoConnectionPoolStats))
+            .applyToSocketSettings(settings -> settings
+                .connectTimeout((int) socket.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout((int) socket.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Opens {@code minSize} connections before the application reports ready, so the first
+     * requests do not pay for the handshakes. Concurrent pings each hold a connection, which makes
+     * the pool grow to that size; a failure only costs the warm start.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void prewarmConnectionPool(ApplicationStartedEvent event) {
+        int minSize = mongoClientProperties.getPool().getMinSize();
+        if (minSize == 0) {
+            return;
+        }
+
+        ReactiveMongoTemplate reactiveMongoTemplate = event.getApplicationContext().getBean(ReactiveMongoTemplate.class);
+        try {
+            Flux.range(0, minSize)
+                .flatMap(i -> reactiveMongoTemplate.executeCommand(PING), minSize)
+                .then()
+                .block(mongoClientProperties.getServerSelection().getTimeout()
+                    .plus(mongoClientProperties.getSocket().getConnectTimeout()));
+            log.info("Mongo connection pool warmed up: {}", mongoConnectionPoolStats);
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up the Mongo connection pool", e);
+        }
     }
+
+    private char[] passwordChars() {
+        String password = mongoClientProperties.getPassword();
+        return password == null ? new char[0] : password.toCharArray();
+    }
+
+    private static MongoCompressor compressor(String name) {
+        return switch (name.toLowerCase()) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown Mongo compressor " + name);
+        };
+    }
+
 }
@@ -0,0 +1,107 @@
+package guru.springframework.reactivemongo.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live connection pool statistics summed over all servers, fed by the driver's pool events.
+ * Creation and failure counts are cumulative, so a rate is the difference between two reads.
+ */
+@Component
+public class MongoConnectionPoolStats implements ConnectionPoolListener, MeterBinder {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waitQueueSize = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder checkOutFailed = new LongAdder();
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+        created.increment();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waitQueueSize.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkedOut.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkOutFailed.increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    /**
+     * @return connections currently open, in use or idle
+     */
+    public int getOpen() {
+        return open.get();
+    }
+
+    public int getCheckedOut() {
+        return checkedOut.get();
+    }
+
+    /**
+     * @return requests currently waiting for a connection
+     */
+    public int getWaitQueueSize() {
+        return waitQueueSize.get();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getCheckOutFailed() {
+        return checkOutFailed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.mongodb.pool.open", this, MongoConnectionPoolStats::getOpen).register(registry);
+        Gauge.builder("app.mongodb.pool.checkedout", this, MongoConnectionPoolStats::getCheckedOut).register(registry);
+        Gauge.builder("app.mongodb.pool.waitqueuesize", this, MongoConnectionPoolStats::getWaitQueueSize).register(registry);
+        FunctionCounter.builder("app.mongodb.pool.created", this, MongoConnectionPoolStats::getCreated).register(registry);
+        FunctionCounter.builder("app.mongodb.pool.checkout.failed", this, MongoConnectionPoolStats::getCheckOutFailed)
+            .register(registry);
+    }
+
+    @Override
+    public String toString() {
+        return "open=" + getOpen() + ", checkedOut=" + getCheckedOut() + ", waitQueueSize=" + getWaitQueueSize()
+            + ", created=" + getCreated() + ", checkOutFailed=" + getCheckOutFailed();
+    }
+
+}
@@ -0,0 +1,20 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.mongo.indexes")
+public class MongoIndexProperties {
+
+    /**
+     * Create declared indexes that are missing from the database.
+     */
+    private boolean createMissing = true;
+
+    /**
+     * Refuse readiness when the database indexes drift from the declared ones.
+     */
+    private boolean failOnDrift = false;
+
+}
@@ -0,0 +1,143 @@
+package guru.springframework.reactivemongo.config;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares the indexes declared on the documents with the ones in the database once the
+ * application is ready. Missing indexes are created, anything else that differs is reported as
+ * drift. Runs in the background so it never delays readiness.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexReconciler {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Beer.class, Customer.class);
+    private static final String ID_INDEX = "_id_";
+    private static final String NAME = "name";
+    private static final String UNIQUE = "unique";
+    private static final String COLLATION = "collation";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+    private final MongoIndexProperties mongoIndexProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile().subscribe(drift -> {
+            if (drift > 0 && mongoIndexProperties.isFailOnDrift()) {
+                log.error("Found {} index differences, refusing traffic", drift);
+                AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }, throwable -> log.error("Index reconciliation failed", throwable));
+    }
+
+    /**
+     * @return the number of index differences left after reconciliation
+     */
+    public Mono<Long> reconcile() {
+        IndexResolver indexResolver = IndexResolver.create(mongoMappingContext);
+
+        return Flux.fromIterable(INDEXED_DOCUMENTS)
+            .concatMap(type -> reconcile(type, indexResolver))
+            .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> reconcile(Class<?> type, IndexResolver indexResolver) {
+        ReactiveIndexOperations indexOps = reactiveMongoTemplate.indexOps(type);
+        String collection = reactiveMongoTemplate.getCollectionName(type);
+
+        Map<String, IndexDefinition> declared = new LinkedHashMap<>();
+        indexResolver.resolveIndexFor(type)
+            .forEach(indexDefinition -> declared.put(indexDefinition.getIndexOptions().getString(NAME), indexDefinition));
+
+        return indexOps.getIndexInfo()
+            .collectMap(IndexInfo::getName)
+            .flatMap(existing -> {
+                long drift = 0;
+                List<IndexDefinition> missing = new ArrayList<>();
+
+                for (Map.Entry<String, IndexDefinition> entry : declared.entrySet()) {
+                    IndexInfo indexInfo = existing.get(entry.getKey());
+                    if (indexInfo == null) {
+                        missing.add(entry.getValue());
+                    } else if (!matches(entry.getValue(), indexInfo)) {
+                        log.warn("Index {} on {} differs from its declaration: {}", entry.getKey(), collection, indexInfo);
+                        drift++;
+                    }
+                }
+
+                for (String name : existing.keySet()) {
+                    if (!ID_INDEX.equals(name) && !declared.containsKey(name)) {
+                        log.warn("Index {} on {} is not declared", name, collection);
+                        drift++;
+                    }
+                }
+
+                if (!mongoIndexProperties.isCreateMissing()) {
+                    missing.forEach(indexDefinition -> log.warn("Index {} on {} is missing",
+                        indexDefinition.getIndexOptions().getString(NAME), collection));
+                    return Mono.just(drift + missing.size());
+                }
+
+                return Flux.fromIterable(missing)
+                    .concatMap(indexOps::ensureIndex)
+                    .doOnNext(name -> log.info("Created index {} on {}", name, collection))
+                    .then(Mono.just(drift));
+            });
+    }
+
+    private static boolean matches(IndexDefinition indexDefinition, IndexInfo indexInfo) {
+        List<String> declaredKeys = indexDefinition.getIndexKeys().entrySet().stream()
+            .map(key -> key.getKey() + ":" + ((Number) key.getValue()).intValue())
+            .toList();
+        List<String> existingKeys = indexInfo.getIndexFields().stream()
+            .map(indexField -> indexField.getKey() + ":" + (indexField.getDirection() == Sort.Direction.DESC ? -1 : 1))
+            .toList();
+
+        boolean unique = indexDefinition.getIndexOptions().getBoolean(UNIQUE, false);
+
+        return declaredKeys.equals(existingKeys) && unique == indexInfo.isUnique()
+            && sameCollation(indexDefinition.getIndexOptions().get(COLLATION, Document.class),
+                indexInfo.getCollation().orElse(null));
+    }
+
+    /**
+     * The server reports every collation option, defaults included, so only the declared ones are
+     * compared.
+     */
+    private static boolean sameCollation(Document declared, Document existing) {
+        if (declared == null || existing == null) {
+            return declared == existing;
+        }
+        return declared.entrySet().stream()
+            .allMatch(option -> Objects.equals(option.getValue(), existing.get(option.getKey())));
+    }
+
+}
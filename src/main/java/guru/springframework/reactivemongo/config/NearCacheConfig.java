@@ -0,0 +1,49 @@
+package guru.springframework.reactivemongo.config;
+
+import guru.springframework.reactivemongo.cache.NearCache;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NearCacheConfig {
+
+    @Bean
+    public NearCache<String, BeerDTO> beerByIdCache(NearCacheProperties nearCacheProperties, MeterRegistry meterRegistry) {
+        return monitor(new NearCache<>(nearCacheProperties.getMaximumSize(), nearCacheProperties.getTimeToLive(),
+            beerDTO -> beerDTO.toBuilder().build()), "beerById", meterRegistry);
+    }
+
+    @Bean
+    public NearCache<String, BeerDTO> beerByNameCache(NearCacheProperties nearCacheProperties, MeterRegistry meterRegistry) {
+        return monitor(new NearCache<>(nearCacheProperties.getMaximumSize(), nearCacheProperties.getTimeToLive(),
+            beerDTO -> beerDTO.toBuilder().build()), "beerByName", meterRegistry);
+    }
+
+    @Bean
+    public NearCache<String, CustomerDTO> customerByIdCache(NearCacheProperties nearCacheProperties,
+                                                            MeterRegistry meterRegistry) {
+        return monitor(new NearCache<>(nearCacheProperties.getMaximumSize(), nearCacheProperties.getTimeToLive(),
+            customerDTO -> customerDTO.toBuilder().build()), "customerById", meterRegistry);
+    }
+
+    @Bean
+    public ResponseCache beerListResponseCache(ResponseCacheProperties responseCacheProperties,
+                                               MeterRegistry meterRegistry) {
+        ResponseCache responseCache = new ResponseCache(responseCacheProperties.getMaximumSize().toBytes(),
+            responseCacheProperties.getTimeToLive(),
+            responseCacheProperties.isGzip() ? responseCacheProperties.getGzipMinSize().toBytes() : -1);
+        CaffeineCacheMetrics.monitor(meterRegistry, responseCache.getNativeCache(), "beerListResponse");
+        return responseCache;
+    }
+
+    private static <K, V> NearCache<K, V> monitor(NearCache<K, V> nearCache, String name, MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache.getNativeCache(), name);
+        return nearCache;
+    }
+
+}
@@ -0,0 +1,23 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class NearCacheProperties {
+
+    /**
+     * Maximum number of entries kept per cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry is served after it was loaded, bounding staleness for writes that do not
+     * go through this instance.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+}
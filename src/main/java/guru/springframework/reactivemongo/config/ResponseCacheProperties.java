@@ -0,0 +1,36 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cache of encoded beer list bodies. Writes through this instance invalidate it; the time to live
+ * bounds staleness for writes made elsewhere.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.response")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Total size of the bodies kept, gzipped copies included.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * Whether bodies are also kept gzipped, for clients that accept it.
+     */
+    private boolean gzip = true;
+
+    /**
+     * Smallest body kept gzipped; below it compression saves too little to be worth the time.
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+
+}
@@ -1,5 +1,8 @@
 package guru.springframework.reactivemongo.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -16,7 +19,9 @@ public class SecurityConfig {
         http
             .csrf(ServerHttpSecurity.CsrfSpec::disable)
             .authorizeExchange(authorize ->
-                authorize.anyExchange()
+                authorize.matchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                    .permitAll()
+                    .anyExchange()
                     .authenticated())
             .oauth2ResourceServer(resourceServer ->
                 resourceServer.jwt(Customizer.withDefaults()));
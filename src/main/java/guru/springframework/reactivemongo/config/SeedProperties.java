@@ -0,0 +1,55 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Bulk loading of beers and customers when the {@code seed} profile is active, either generated or
+ * read from NDJSON or CSV files (chosen by extension).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+
+    public enum Source {
+        SYNTHETIC, FILE
+    }
+
+    private Source source = Source.SYNTHETIC;
+
+    /**
+     * Beers generated by the synthetic source.
+     */
+    private long beers = 1000;
+
+    /**
+     * Customers generated by the synthetic source.
+     */
+    private long customers = 1000;
+
+    private Path beersFile;
+
+    private Path customersFile;
+
+    /**
+     * Documents per {@code insertMany}.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Batches in flight at once.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Whether existing documents are deleted first. Otherwise a collection that already holds
+     * documents is left as it is.
+     */
+    private boolean dropExisting = false;
+
+    private Duration progressInterval = Duration.ofSeconds(5);
+
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -18,17 +20,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Document
+@CompoundIndex(name = "beerStyle_price", def = "{'beerStyle': 1, 'price': 1}")
 public class Beer {
 
     @Id
     private String id;
 
+    @Indexed
     private String beerName;
     private String beerStyle;
+    @Indexed
     private String upc;
     private Integer quantityOnHand;
     private BigDecimal price;
     private LocalDateTime createdDate;
+    @Indexed
     private LocalDateTime lastModifiedDate;
 
 }
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -20,12 +22,22 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Document
+@CompoundIndex(name = Customer.NAME_INDEX, def = "{'customerName': 1, '_id': 1}", collation = Customer.NAME_COLLATION)
 public class Customer {
 
+    public static final String NAME_INDEX = "customerName_ci";
+
+    /**
+     * Compares names ignoring case but not accents. Queries must use the same collation to be
+     * served by the index.
+     */
+    public static final String NAME_COLLATION = "{'locale': 'en', 'strength': 2}";
+
     @Id
     private String id;
 
     @Size(max = 255)
+    @Indexed
     private String customerName;
 
     @CreatedDate
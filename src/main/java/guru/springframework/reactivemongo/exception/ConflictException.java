@@ -0,0 +1,7 @@
+package guru.springframework.reactivemongo.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
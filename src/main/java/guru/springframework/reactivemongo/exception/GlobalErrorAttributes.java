@@ -15,6 +15,8 @@ public class GlobalErrorAttributes extends DefaultErrorAttributes {
     public static final String ERROR = "error";
     public static final String MESSAGE = "message";
     public static final String VALIDATION_FAILED = "Validation failed";
+    public static final String CONFLICT = "Conflict";
+    public static final String NOT_ACCEPTABLE = "Not acceptable";
 
     @Override
     public Map<String, Object> getErrorAttributes(ServerRequest request,
@@ -28,15 +30,21 @@ public class GlobalErrorAttributes extends DefaultErrorAttributes {
         return switch (getErrorMessage(error)) {
             case "Element not found" -> notFoundObjectMap(map);
             case VALIDATION_FAILED -> badRequestObjectMap(map);
+            case CONFLICT -> conflictObjectMap(map, error.getMessage());
+            case NOT_ACCEPTABLE -> notAcceptableObjectMap(map);
             default -> internalErrorObjectMap(map);
         };
     }
 
     private static String getErrorMessage(Throwable error) {
         String message;
-        if (error.getMessage().contains(VALIDATION_FAILED) ||
+        if (error instanceof ConflictException) {
+            message = CONFLICT;
+        } else if (error.getMessage().contains(VALIDATION_FAILED) ||
             error.getMessage().contains("400 BAD_REQUEST")) {
             message = VALIDATION_FAILED;
+        } else if (error.getMessage().contains("406 NOT_ACCEPTABLE")) {
+            message = NOT_ACCEPTABLE;
         } else {
             message = error.getMessage();
         }
@@ -57,6 +65,20 @@ public class GlobalErrorAttributes extends DefaultErrorAttributes {
         return map;
     }
 
+    private static Map<String, Object> conflictObjectMap(Map<String, Object> map, String message) {
+        map.put(STATUS, HttpStatus.CONFLICT);
+        map.put(ERROR, CONFLICT);
+        map.put(MESSAGE, message);
+        return map;
+    }
+
+    private static Map<String, Object> notAcceptableObjectMap(Map<String, Object> map) {
+        map.put(STATUS, HttpStatus.NOT_ACCEPTABLE);
+        map.put(ERROR, NOT_ACCEPTABLE);
+        map.put(MESSAGE, "No acceptable representation!");
+        return map;
+    }
+
     private static Map<String, Object> notFoundObjectMap(Map<String, Object> map) {
         map.put(STATUS, HttpStatus.NOT_FOUND);
         map.put(ERROR, "No such element");
@@ -52,6 +52,10 @@ public class GlobalErrorWebExceptionHandler extends AbstractErrorWebExceptionHan
 
         if (errorPropertiesMap.get("status").equals(HttpStatus.BAD_REQUEST)) {
             httpStatus = HttpStatus.BAD_REQUEST;
+        } else if (errorPropertiesMap.get("status").equals(HttpStatus.CONFLICT)) {
+            httpStatus = HttpStatus.CONFLICT;
+        } else if (errorPropertiesMap.get("status").equals(HttpStatus.NOT_ACCEPTABLE)) {
+            httpStatus = HttpStatus.NOT_ACCEPTABLE;
         } else {
             httpStatus = HttpStatus.NOT_FOUND;
         }
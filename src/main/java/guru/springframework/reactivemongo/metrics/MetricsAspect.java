@@ -0,0 +1,153 @@
+package guru.springframework.reactivemongo.metrics;
+
+import guru.springframework.reactivemongo.exception.ConflictException;
+import guru.springframework.reactivemongo.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Times every handler and service call from subscription to termination, so the time spent in a
+ * request can be split between request handling and the Mongo work behind it.
+ * <p>
+ * Handler timers are tagged with the matched route, HTTP method and outcome; service timers with
+ * the operation and outcome. Both publish percentile histograms.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    public static final String HANDLER_TIMER = "app.handler.requests";
+    public static final String SERVICE_TIMER = "app.service.calls";
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String CLIENT_ERROR = "CLIENT_ERROR";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    private static final Tags SUCCEEDED = Tags.of("outcome", SUCCESS, "exception", NONE);
+    private static final Tags CANCELLED = Tags.of("outcome", "CANCELLED", "exception", NONE);
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public reactor.core.publisher.Mono<org.springframework.web.reactive.function.server.ServerResponse> "
+        + "guru.springframework.reactivemongo.web.fn.*Handler.*(org.springframework.web.reactive.function.server.ServerRequest))")
+    public Object timeHandler(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerRequest serverRequest = (ServerRequest) joinPoint.getArgs()[0];
+        Tags tags = Tags.of(
+            "handler", joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+            "route", serverRequest.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE).map(Object::toString).orElse(UNKNOWN),
+            "method", serverRequest.method().name());
+
+        Mono<ServerResponse> response;
+        try {
+            @SuppressWarnings("unchecked")
+            Mono<ServerResponse> proceeded = (Mono<ServerResponse>) joinPoint.proceed();
+            response = proceeded;
+        } catch (RuntimeException e) {
+            // Invalid query parameters are rejected before a publisher is returned.
+            response = Mono.error(e);
+        }
+
+        return time(response, HANDLER_TIMER, tags,
+            serverResponse -> SUCCEEDED.and("outcome", outcome(serverResponse.statusCode().value())));
+    }
+
+    @Around("execution(public (reactor.core.publisher.Mono || reactor.core.publisher.Flux) "
+        + "guru.springframework.reactivemongo.services.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of(
+            "service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+            "operation", joinPoint.getSignature().getName());
+
+        Object publisher = joinPoint.proceed();
+        if (publisher instanceof Mono<?> mono) {
+            return time(mono, SERVICE_TIMER, tags, value -> SUCCEEDED);
+        }
+        return time((Flux<?>) publisher, SERVICE_TIMER, tags);
+    }
+
+    private <T> Mono<T> time(Mono<T> mono, String name, Tags tags, Function<T, Tags> successTags) {
+        return Mono.defer(() -> {
+            Recording recording = new Recording(name, tags);
+            return mono
+                .doOnSuccess(value -> recording.stop(value == null ? SUCCEEDED : successTags.apply(value)))
+                .doOnError(throwable -> recording.stop(errorTags(throwable)))
+                .doOnCancel(() -> recording.stop(CANCELLED));
+        });
+    }
+
+    private <T> Flux<T> time(Flux<T> flux, String name, Tags tags) {
+        return Flux.defer(() -> {
+            Recording recording = new Recording(name, tags);
+            return flux
+                .doOnComplete(() -> recording.stop(SUCCEEDED))
+                .doOnError(throwable -> recording.stop(errorTags(throwable)))
+                .doOnCancel(() -> recording.stop(CANCELLED));
+        });
+    }
+
+    private static Tags errorTags(Throwable throwable) {
+        String outcome;
+        if (throwable instanceof ResponseStatusException responseStatusException) {
+            outcome = outcome(responseStatusException.getStatusCode().value());
+        } else if (throwable instanceof NotFoundException || throwable instanceof ConflictException) {
+            outcome = CLIENT_ERROR;
+        } else {
+            outcome = SERVER_ERROR;
+        }
+        return Tags.of("outcome", outcome, "exception", throwable.getClass().getSimpleName());
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return SERVER_ERROR;
+        }
+        if (status >= 400) {
+            return CLIENT_ERROR;
+        }
+        return SUCCESS;
+    }
+
+    /**
+     * One timed call; stops at most once, whichever of success, error or cancel comes first.
+     */
+    private final class Recording {
+
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final String name;
+        private final Tags tags;
+
+        private Recording(String name, Tags tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        private void stop(Tags outcomeTags) {
+            if (stopped.compareAndSet(false, true)) {
+                sample.stop(Timer.builder(name)
+                    .tags(tags.and(outcomeTags))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+        }
+
+    }
+
+}
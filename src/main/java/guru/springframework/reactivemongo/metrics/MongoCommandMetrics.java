@@ -0,0 +1,87 @@
+package guru.springframework.reactivemongo.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every Mongo command and the size of its reply, tagged by command and
+ * collection. The collection is only part of the started event, so it is remembered per request
+ * id until the command completes.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoCommandMetrics implements CommandListener {
+
+    public static final String COMMAND_TIMER = "app.mongodb.commands";
+    public static final String REPLY_SIZE = "app.mongodb.commands.reply.size";
+
+    private static final String COLLECTION = "collection";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Integer, String> collectionsByRequestId = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collectionsByRequestId.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Tags tags = tags(event.getRequestId(), event.getCommandName(), "SUCCESS");
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS), tags);
+
+        // The driver hands listeners the raw reply, so its size is known without re-encoding it.
+        if (event.getResponse() instanceof RawBsonDocument rawBsonDocument) {
+            DistributionSummary.builder(REPLY_SIZE)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rawBsonDocument.getByteBuffer().remaining());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS), tags(event.getRequestId(), event.getCommandName(), "FAILED"));
+    }
+
+    private Tags tags(int requestId, String commandName, String status) {
+        String collection = collectionsByRequestId.remove(requestId);
+        return Tags.of("command", commandName, COLLECTION, collection == null ? NONE : collection, "status", status);
+    }
+
+    private void record(long elapsedNanos, Tags tags) {
+        Timer.builder(COMMAND_TIMER)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Most commands name their collection as the command value; getMore names it in a field.
+     */
+    private static String collection(String commandName, BsonDocument command) {
+        BsonValue collection = "getMore".equals(commandName) ? command.get(COLLECTION) : command.get(commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : NONE;
+    }
+
+}
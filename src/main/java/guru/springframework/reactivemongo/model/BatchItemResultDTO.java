@@ -0,0 +1,23 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResultDTO {
+
+    public enum Status {
+        CREATED, UPDATED, INVALID, FAILED
+    }
+
+    private long index;
+    private Status status;
+    private String id;
+    private String error;
+
+}
@@ -0,0 +1,26 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One change to a document. {@code document} holds the state after the change and is empty for
+ * deletes; {@code resumeToken} lets a reconnecting client continue right after this event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEventDTO<T> {
+
+    private String operationType;
+    private String id;
+    private String resumeToken;
+    private Instant timestamp;
+    private T document;
+
+}
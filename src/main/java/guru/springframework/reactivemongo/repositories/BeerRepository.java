@@ -7,6 +7,8 @@ import reactor.core.publisher.Mono;
 
 public interface BeerRepository extends ReactiveMongoRepository<Beer, String> {
 
+    int STREAM_BATCH_SIZE = 256;
+
     Mono<Beer> findFirstByBeerName(String name);
 
     Flux<Beer> findAllByBeerStyle(String style);
@@ -6,6 +6,8 @@ import reactor.core.publisher.Flux;
 
 public interface CustomerRepository extends ReactiveMongoRepository<Customer, String> {
 
+    int STREAM_BATCH_SIZE = 256;
+
     Flux<Customer> findAllByCustomerName(String name);
 
 }
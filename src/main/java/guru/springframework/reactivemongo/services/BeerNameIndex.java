@@ -0,0 +1,142 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.repositories.BeerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Beer names in memory, sorted case-insensitively, for prefix suggestions that never touch Mongo.
+ * Filled from the collection once the application is ready and kept current by the write paths of
+ * {@link BeerServiceImpl}; writes made by other instances are not seen until a restart.
+ * <p>
+ * Each name is held once: the map from id to name and the sorted set of (name, id) entries share
+ * the same strings. Entries sort by name ignoring case and then by id, so beers sharing a name are
+ * adjacent and a lookup skips past them with one seek. Both structures change under the id's lock
+ * in the map, and so does a fill deciding whether to apply what it read: a write seen while a fill
+ * is running takes precedence over it, however many fills overlap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BeerNameIndex implements MeterBinder {
+
+    public static final String SIZE = "app.beer.name.index.size";
+
+    private static final String BEER_NAME = "beerName";
+    // Sorts after any id.
+    private static final String LAST_ID = "\uffff";
+    private static final Comparator<NameEntry> ORDER = (entry, other) -> {
+        int byName = String.CASE_INSENSITIVE_ORDER.compare(entry.name(), other.name());
+        return byName != 0 ? byName : entry.beerId().compareTo(other.beerId());
+    };
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final NavigableSet<NameEntry> entries = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, String> namesById = new ConcurrentHashMap<>();
+    // The ids written during each fill in progress.
+    private final List<Set<String>> fills = new CopyOnWriteArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load().subscribe(count -> log.info("Indexed {} beer names", count),
+            throwable -> log.error("Loading beer names failed", throwable));
+    }
+
+    /**
+     * @return the number of beers read from the collection
+     */
+    public Mono<Long> load() {
+        Query query = new Query().cursorBatchSize(BeerRepository.STREAM_BATCH_SIZE);
+        query.fields().include(BEER_NAME);
+
+        return Mono.defer(() -> {
+            Set<String> writtenWhileLoading = ConcurrentHashMap.newKeySet();
+            fills.add(writtenWhileLoading);
+
+            return reactiveMongoTemplate.find(query, Beer.class)
+                .doOnNext(beer -> namesById.compute(beer.getId(), (beerId, previousName) ->
+                    writtenWhileLoading.contains(beerId) ? previousName : index(beerId, previousName, beer.getBeerName())))
+                .count()
+                .doFinally(signal -> fills.removeIf(fill -> fill == writtenWhileLoading));
+        });
+    }
+
+    public void put(String beerId, String beerName) {
+        namesById.compute(beerId, (id, previousName) -> {
+            fills.forEach(writtenWhileLoading -> writtenWhileLoading.add(id));
+            return index(id, previousName, beerName);
+        });
+    }
+
+    public void remove(String beerId) {
+        put(beerId, null);
+    }
+
+    /**
+     * @return up to {@code limit} distinct names starting with the prefix, ignoring case, in
+     * alphabetical order
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String trimmedPrefix = prefix.trim();
+        List<String> names = new ArrayList<>(limit);
+        NameEntry entry = entries.ceiling(new NameEntry(trimmedPrefix, ""));
+
+        while (entry != null && names.size() < limit
+            && entry.name().regionMatches(true, 0, trimmedPrefix, 0, trimmedPrefix.length())) {
+            names.add(entry.name());
+            entry = entries.higher(new NameEntry(entry.name(), LAST_ID));
+        }
+        return names;
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(SIZE, this, BeerNameIndex::size).register(registry);
+    }
+
+    /**
+     * Moves a beer's entry from its previous name to its new one; called under the id's lock.
+     *
+     * @return the name now indexed for the beer, null for none
+     */
+    private String index(String beerId, String previousName, String beerName) {
+        String name = StringUtils.hasText(beerName) ? beerName.trim() : null;
+        if (previousName != null && !previousName.equals(name)) {
+            entries.remove(new NameEntry(previousName, beerId));
+        }
+        if (name != null) {
+            entries.add(new NameEntry(name, beerId));
+        }
+        return name;
+    }
+
+    private record NameEntry(String name, String beerId) {
+    }
+
+}
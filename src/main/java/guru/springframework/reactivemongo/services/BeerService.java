@@ -1,24 +1,78 @@
 package guru.springframework.reactivemongo.services;
 
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
+import org.bson.RawBsonDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface BeerService {
 
     Mono<BeerDTO> findFirstByBeerName(String name);
 
     Flux<BeerDTO> findAllByBeerStyle(String style);
 
+    /**
+     * @param fields fields to read, all of them when empty; the id is always read
+     */
+    Flux<BeerDTO> findAllByBeerStyle(String style, Collection<String> fields);
+
     Flux<BeerDTO> listBeers();
 
+    Flux<BeerDTO> listBeers(String afterId, int limit, Collection<String> fields);
+
+    /**
+     * Same page as {@link #listBeers(String, int, Collection)}, as the stored documents.
+     */
+    Flux<RawBsonDocument> listBeerDocuments(String afterId, int limit, Collection<String> fields);
+
+    /**
+     * @return every stored document after the given id, in id order, fetched {@code batchSize} at a time
+     */
+    Flux<RawBsonDocument> exportBeerDocuments(String afterId, int batchSize);
+
+    Flux<BeerDTO> streamBeers(Collection<String> fields);
+
+    Flux<BeerDTO> streamBeersByStyle(String style, Collection<String> fields);
+
+    Flux<ChangeEventDTO<BeerDTO>> watchBeers(String resumeToken);
+
     Mono<BeerDTO> saveBeer(BeerDTO beerDTO);
+
+    Flux<BeerDTO> saveBeers(List<BeerDTO> beerDTOs);
+
+    /**
+     * Writes each beer over the one with the same upc, or inserts it when there is none, in one
+     * bulk write. The bulk is unordered unless a upc repeats in the list, so that the last of
+     * them wins.
+     *
+     * @return the ids of the inserted beers by their position in the list; updated beers are absent
+     */
+    Mono<Map<Integer, String>> upsertBeersByUpc(List<BeerDTO> beerDTOs);
+
     Mono<BeerDTO> getBeerById(String beerId);
 
     Mono<BeerDTO> updateBeer(String beerId, BeerDTO beerDTO);
 
     Mono<BeerDTO> patchBeer(String beerId, BeerDTO beerDTO);
 
+    /**
+     * Adds a signed delta to the quantity on hand in one atomic update. A negative delta is a
+     * reservation and only applies while enough stock is left.
+     */
+    Mono<BeerDTO> adjustInventory(String beerId, int delta);
+
     Mono<Void> deleteBeerById(String beerId);
 
+    Mono<Long> deleteBeersByIds(List<String> beerIds);
+
+    /**
+     * Drops every cached view of the beers, for writes that bypass this service.
+     */
+    void evictBeers(Collection<String> beerIds);
+
 }
@@ -1,30 +1,85 @@
 package guru.springframework.reactivemongo.services;
 
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.DeleteResult;
+import guru.springframework.reactivemongo.cache.NearCache;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.cache.SingleFlight;
+import guru.springframework.reactivemongo.changes.ChangeFeed;
+import guru.springframework.reactivemongo.codecs.DtoFinder;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.exception.ConflictException;
 import guru.springframework.reactivemongo.exception.NotFoundException;
 import guru.springframework.reactivemongo.mappers.BeerMapper;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
 import guru.springframework.reactivemongo.repositories.BeerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class BeerServiceImpl implements BeerService {
     public static final String NOT_FOUND = "Element not found";
+    public static final String ID = "id";
+    public static final String INSUFFICIENT_INVENTORY = "Insufficient inventory";
+    private static final String QUANTITY_ON_HAND = "quantityOnHand";
 
     private final BeerRepository beerRepository;
 
     private final BeerMapper beerMapper;
 
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final DtoFinder dtoFinder;
+
+    private final NearCache<String, BeerDTO> beerByIdCache;
+
+    private final NearCache<String, BeerDTO> beerByNameCache;
+
+    private final ResponseCache beerListResponseCache;
+
+    private final ChangeFeed<Beer, BeerDTO> beerChangeFeed;
+
+    private final BeerNameIndex beerNameIndex;
+
+    private final SingleFlight<String, BeerDTO> beerByIdFlight = new SingleFlight<>(beerDTO -> beerDTO.toBuilder().build());
+
+    private final SingleFlight<StyleQuery, BeerDTO> beerByStyleFlight = new SingleFlight<>(beerDTO -> beerDTO.toBuilder().build());
+
     @Override
     public Mono<BeerDTO> saveBeer(BeerDTO beerDTO) {
         return beerRepository.save(beerMapper.beerDtoToBeer(beerDTO))
-            .map(beerMapper::beerToBeerDto);
+            .map(beerMapper::beerToBeerDto)
+            .doOnNext(savedBeerDTO -> {
+                evict(savedBeerDTO.getId());
+                beerNameIndex.put(savedBeerDTO.getId(), savedBeerDTO.getBeerName());
+            });
     }
 
     @Override
@@ -34,11 +89,54 @@ public class BeerServiceImpl implements BeerService {
             .map(beerMapper::beerToBeerDto);
     }
 
+    @Override
+    public Flux<BeerDTO> listBeers(String afterId, int limit, Collection<String> fields) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+        Flux<BeerDTO> page = find(query.with(PageRequest.of(0, limit, Sort.by(ID))), fields);
+
+        return afterId == null ? page.switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND))) : page;
+    }
+
+    @Override
+    public Flux<RawBsonDocument> listBeerDocuments(String afterId, int limit, Collection<String> fields) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+        query.with(PageRequest.of(0, limit, Sort.by(ID)));
+        fields.forEach(query.fields()::include);
+
+        Flux<RawBsonDocument> page = dtoFinder.find(query, Beer.class, RawBsonDocument.class);
+        return afterId == null ? page.switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND))) : page;
+    }
+
+    @Override
+    public Flux<RawBsonDocument> exportBeerDocuments(String afterId, int batchSize) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+
+        return dtoFinder.find(query.with(Sort.by(ID)).cursorBatchSize(batchSize), Beer.class, RawBsonDocument.class)
+            .limitRate(batchSize);
+    }
+
+    @Override
+    public Flux<BeerDTO> streamBeers(Collection<String> fields) {
+        return find(new Query().cursorBatchSize(BeerRepository.STREAM_BATCH_SIZE), fields)
+            .limitRate(BeerRepository.STREAM_BATCH_SIZE);
+    }
+
+    @Override
+    public Flux<BeerDTO> streamBeersByStyle(String style, Collection<String> fields) {
+        return find(Query.query(Criteria.where("beerStyle").is(style)).cursorBatchSize(BeerRepository.STREAM_BATCH_SIZE), fields)
+            .limitRate(BeerRepository.STREAM_BATCH_SIZE);
+    }
+
+    @Override
+    public Flux<ChangeEventDTO<BeerDTO>> watchBeers(String resumeToken) {
+        return beerChangeFeed.changes(resumeToken);
+    }
+
     @Override
     public Mono<BeerDTO> findFirstByBeerName(String name) {
-        return beerRepository.findFirstByBeerName(name)
-            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .map(beerMapper::beerToBeerDto);
+        return beerByNameCache.get(name, beerName -> beerRepository.findFirstByBeerName(beerName)
+                .map(beerMapper::beerToBeerDto))
+            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)));
     }
 
     @Override
@@ -49,63 +147,217 @@ public class BeerServiceImpl implements BeerService {
 
     }
 
+    @Override
+    public Flux<BeerDTO> findAllByBeerStyle(String style, Collection<String> fields) {
+        return beerByStyleFlight.flux(new StyleQuery(style, Set.copyOf(fields)),
+                styleQuery -> find(Query.query(Criteria.where("beerStyle").is(styleQuery.style())), styleQuery.fields()))
+            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)));
+    }
+
     @Override
     public Mono<BeerDTO> updateBeer(String beerId, BeerDTO beerDTO) {
-        return beerRepository.findById(beerId)
-            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .map(beerMapper::beerToBeerDto)
-            .flatMap(beerDTO1 -> {
-                beerDTO1.setBeerName(beerDTO.getBeerName());
-                beerDTO1.setBeerStyle(beerDTO.getBeerStyle());
-                beerDTO1.setUpc(beerDTO.getUpc());
-                beerDTO1.setQuantityOnHand(beerDTO.getQuantityOnHand());
-                beerDTO1.setPrice(beerDTO.getPrice());
-                return beerRepository.save(beerMapper.beerDtoToBeer(beerDTO1)).map(beerMapper::beerToBeerDto);
-            });
+        Update update = new Update()
+            .set("beerName", beerDTO.getBeerName())
+            .set("beerStyle", beerDTO.getBeerStyle())
+            .set("upc", beerDTO.getUpc())
+            .set("quantityOnHand", beerDTO.getQuantityOnHand())
+            .set("price", beerDTO.getPrice());
+
+        return findAndModify(beerId, update);
     }
 
     @Override
     public Mono<BeerDTO> patchBeer(String beerId, BeerDTO beerDTO) {
-        return beerRepository.findById(beerId)
+        Update update = new Update();
+
+        if (StringUtils.hasText(beerDTO.getBeerName())) {
+            update.set("beerName", beerDTO.getBeerName());
+        }
+        if (StringUtils.hasText(beerDTO.getBeerStyle())) {
+            update.set("beerStyle", beerDTO.getBeerStyle());
+        }
+        if (StringUtils.hasText(beerDTO.getUpc())) {
+            update.set("upc", beerDTO.getUpc());
+        }
+        if (beerDTO.getQuantityOnHand() != null) {
+            update.set("quantityOnHand", beerDTO.getQuantityOnHand());
+        }
+        if (beerDTO.getPrice() != null) {
+            update.set("price", beerDTO.getPrice());
+        }
+
+        return findAndModify(beerId, update);
+    }
+
+    @Override
+    public Mono<BeerDTO> adjustInventory(String beerId, int delta) {
+        Query query = byId(beerId);
+        if (delta < 0) {
+            // Negated as a long, as -Integer.MIN_VALUE overflows back to itself.
+            query.addCriteria(Criteria.where(QUANTITY_ON_HAND).gte(-(long) delta));
+        }
+
+        // Only a failed update pays for a second query, to tell a missing beer from a short one.
+        return findAndModify(query, beerId, new Update().inc(QUANTITY_ON_HAND, delta))
+            .onErrorResume(NotFoundException.class, notFoundException -> reactiveMongoTemplate.exists(byId(beerId), Beer.class)
+                .flatMap(exists -> Mono.<BeerDTO>error(exists ? new ConflictException(INSUFFICIENT_INVENTORY) : notFoundException)));
+    }
+
+    private Mono<BeerDTO> findAndModify(String beerId, Update update) {
+        return findAndModify(byId(beerId), beerId, update);
+    }
+
+    /**
+     * Applies the update and returns the new document in a single round trip, so there is no
+     * window between read and write for a concurrent update to get lost in.
+     */
+    private Mono<BeerDTO> findAndModify(Query query, String beerId, Update update) {
+        update.set("lastModifiedDate", LocalDateTime.now());
+
+        return reactiveMongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Beer.class)
             .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
             .map(beerMapper::beerToBeerDto)
-            .flatMap(beerDTO1 -> {
-                if (StringUtils.hasText(beerDTO.getBeerName())) {
-                    beerDTO1.setBeerName(beerDTO.getBeerName());
-                }
-                if (StringUtils.hasText(beerDTO.getBeerStyle())) {
-                    beerDTO1.setBeerStyle(beerDTO.getBeerStyle());
-                }
-                if (StringUtils.hasText(beerDTO.getUpc())) {
-                    beerDTO1.setUpc(beerDTO.getUpc());
-                }
-                if (beerDTO.getQuantityOnHand() != null) {
-                    beerDTO1.setQuantityOnHand(beerDTO.getQuantityOnHand());
-                }
-                if (beerDTO.getPrice() != null) {
-                    beerDTO1.setPrice(beerDTO.getPrice());
-                }
-                return beerRepository.save(beerMapper.beerDtoToBeer(beerDTO1)).map(beerMapper::beerToBeerDto);
+            .doOnSuccess(updatedBeerDTO -> {
+                evict(beerId);
+                beerNameIndex.put(beerId, updatedBeerDTO.getBeerName());
             });
     }
 
     @Override
     public Mono<Void> deleteBeerById(String beerId) {
-        return beerRepository.existsById(beerId)
-            .onErrorResume(throwable -> Mono.error(new RuntimeException(throwable.getMessage())))
-            .flatMap(exists -> {
-                if (Boolean.TRUE.equals(exists)) {
-                    return beerRepository.deleteById(beerId);
-                } else {
-                    return Mono.error(new NotFoundException(NOT_FOUND));
-                }
+        return reactiveMongoTemplate.remove(byId(beerId), Beer.class)
+            .doOnSuccess(deleteResult -> {
+                evict(beerId);
+                beerNameIndex.remove(beerId);
+            })
+            .flatMap(deleteResult -> deleteResult.getDeletedCount() == 0
+                ? Mono.error(new NotFoundException(NOT_FOUND))
+                : Mono.empty());
+    }
+
+    @Override
+    public Mono<Long> deleteBeersByIds(List<String> beerIds) {
+        return reactiveMongoTemplate.remove(Query.query(Criteria.where(ID).in(beerIds)), Beer.class)
+            .doOnSuccess(deleteResult -> beerIds.forEach(beerId -> {
+                evict(beerId);
+                beerNameIndex.remove(beerId);
+            }))
+            .map(DeleteResult::getDeletedCount);
+    }
+
+    @Override
+    public Flux<BeerDTO> saveBeers(List<BeerDTO> beerDTOs) {
+        return reactiveMongoTemplate.insertAll(beerDTOs.stream().map(beerMapper::beerDtoToBeer).toList())
+            .map(beerMapper::beerToBeerDto)
+            .doOnNext(savedBeerDTO -> beerNameIndex.put(savedBeerDTO.getId(), savedBeerDTO.getBeerName()))
+            .doOnError(failure -> BulkWriteFailure.of(failure, beerDTOs.size())
+                .ifPresent(bulkWriteFailure -> IntStream.range(0, beerDTOs.size())
+                    .filter(bulkWriteFailure::applied)
+                    .mapToObj(beerDTOs::get)
+                    .filter(beerDTO -> beerDTO.getId() != null)
+                    .forEach(beerDTO -> beerNameIndex.put(beerDTO.getId(), beerDTO.getBeerName()))))
+            .doOnTerminate(this::evictLists);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> upsertBeersByUpc(List<BeerDTO> beerDTOs) {
+        boolean repeatedUpc = beerDTOs.stream().map(BeerDTO::getUpc).distinct().count() < beerDTOs.size();
+        ReactiveBulkOperations bulkOperations =
+            reactiveMongoTemplate.bulkOps(repeatedUpc ? BulkMode.ORDERED : BulkMode.UNORDERED, Beer.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        beerDTOs.forEach(beerDTO -> bulkOperations.upsert(Query.query(Criteria.where("upc").is(beerDTO.getUpc())),
+            new Update()
+                .set("beerName", beerDTO.getBeerName())
+                .set("beerStyle", beerDTO.getBeerStyle())
+                .set("quantityOnHand", beerDTO.getQuantityOnHand())
+                .set("price", beerDTO.getPrice())
+                .set("lastModifiedDate", now)
+                .setOnInsert("createdDate", now)));
+
+        return bulkOperations.execute()
+            .map(bulkWriteResult -> bulkWriteResult.getUpserts().stream()
+                .collect(Collectors.toMap(BulkWriteUpsert::getIndex, upsert -> BulkWriteFailure.id(upsert.getId()))))
+            .flatMap(insertedIds -> indexUpserted(beerDTOs, insertedIds, index -> true).thenReturn(insertedIds))
+            .onErrorResume(failure -> BulkWriteFailure.of(failure, beerDTOs.size())
+                .map(bulkWriteFailure -> indexUpserted(beerDTOs, bulkWriteFailure.upsertedIds(), bulkWriteFailure::applied))
+                .orElseGet(Mono::empty)
+                .then(Mono.error(failure)))
+            .doOnTerminate(() -> {
+                beerByIdFlight.forgetAll();
+                beerByIdCache.invalidateAll();
+                evictLists();
             });
     }
 
+    /**
+     * Indexes the names of upserted beers. Updated beers are only known by upc, so their ids are
+     * looked up.
+     *
+     * @param applied whether the upsert at an index was applied
+     */
+    private Mono<Void> indexUpserted(List<BeerDTO> beerDTOs, Map<Integer, String> insertedIds, IntPredicate applied) {
+        insertedIds.forEach((index, beerId) -> beerNameIndex.put(beerId, beerDTOs.get(index).getBeerName()));
+        Map<String, String> updatedNames = IntStream.range(0, beerDTOs.size())
+            .filter(index -> !insertedIds.containsKey(index) && applied.test(index))
+            .mapToObj(beerDTOs::get)
+            .collect(Collectors.toMap(BeerDTO::getUpc, BeerDTO::getBeerName, (first, last) -> last));
+
+        if (updatedNames.isEmpty()) {
+            return Mono.empty();
+        }
+        Query query = Query.query(Criteria.where("upc").in(updatedNames.keySet()));
+        query.fields().include("upc");
+
+        return reactiveMongoTemplate.find(query, Beer.class)
+            .doOnNext(beer -> beerNameIndex.put(beer.getId(), updatedNames.get(beer.getUpc())))
+            .then();
+    }
+
     @Override
     public Mono<BeerDTO> getBeerById(String beerId) {
-        return beerRepository.findById(beerId)
-            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .map(beerMapper::beerToBeerDto);
+        return beerByIdCache.get(beerId, id -> beerByIdFlight.mono(id, key -> beerRepository.findById(key)
+                .map(beerMapper::beerToBeerDto)))
+            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)));
+    }
+
+    /**
+     * Name lookups and list bodies are dropped wholesale because the previous name and style of
+     * the beers are not known here.
+     */
+    @Override
+    public void evictBeers(Collection<String> beerIds) {
+        beerIds.forEach(beerId -> {
+            beerByIdFlight.forget(beerId);
+            beerByIdCache.invalidate(beerId);
+        });
+        evictLists();
+    }
+
+    /**
+     * Style lookups in flight are forgotten before the list bodies they feed are invalidated.
+     */
+    private void evictLists() {
+        beerByStyleFlight.forgetAll();
+        beerByNameCache.invalidateAll();
+        beerListResponseCache.invalidateAll();
+    }
+
+    private void evict(String beerId) {
+        evictBeers(List.of(beerId));
+    }
+
+    private Flux<BeerDTO> find(Query query, Collection<String> fields) {
+        fields.forEach(query.fields()::include);
+
+        return dtoFinder.find(query, Beer.class, BeerDTO.class);
+    }
+
+    private static Query byId(String beerId) {
+        return Query.query(Criteria.where(ID).is(beerId));
+    }
+
+    private record StyleQuery(String style, Set<String> fields) {
     }
 }
@@ -0,0 +1,76 @@
+package guru.springframework.reactivemongo.services;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * What a bulk write that failed part way applied, read from the driver's exception, which Spring
+ * keeps as the cause of the one it translates it to. Operations with a write error were not
+ * applied. An ordered write stops at its first error, so the operations after it were not tried
+ * either; an unordered one applied all the others. Which of the two it was is told from the
+ * counts, which only add up when every operation inserts or matches a document, as inserts and
+ * upserts do; the {@code errors} hold for any write.
+ *
+ * @param attempted   the number of operations tried, from the first
+ * @param errors      the error of each operation that failed, by its index
+ * @param upsertedIds the id of each document an upsert inserted, by the index of the upsert
+ */
+public record BulkWriteFailure(int attempted, Map<Integer, String> errors, Map<Integer, String> upsertedIds) {
+
+    /**
+     * @param size the number of operations in the write
+     * @return empty when the failure is not a bulk write error, in which case nothing is known
+     * about what was applied
+     */
+    public static Optional<BulkWriteFailure> of(Throwable failure, int size) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return Optional.of(of(bulkWriteException, size));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static BulkWriteFailure of(MongoBulkWriteException exception, int size) {
+        Map<Integer, String> errors = exception.getWriteErrors().stream()
+            .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, last) -> first));
+        BulkWriteResult result = exception.getWriteResult();
+        if (!result.wasAcknowledged()) {
+            return new BulkWriteFailure(errors.size(), errors, Map.of());
+        }
+        int applied = result.getInsertedCount() + result.getMatchedCount() + result.getUpserts().size();
+        Map<Integer, String> upsertedIds = result.getUpserts().stream()
+            .collect(Collectors.toMap(BulkWriteUpsert::getIndex, upsert -> id(upsert.getId())));
+
+        return new BulkWriteFailure(Math.min(size, applied + errors.size()), errors, upsertedIds);
+    }
+
+    /**
+     * @return a generated id as the string the documents hold it as
+     */
+    public static String id(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    public boolean applied(int index) {
+        return index < attempted && !errors.containsKey(index);
+    }
+
+    /**
+     * @return why the operation was not applied, null when it was
+     */
+    public String error(int index) {
+        if (errors.containsKey(index)) {
+            return errors.get(index);
+        }
+        return index < attempted ? null : "Not written after an earlier error";
+    }
+
+}
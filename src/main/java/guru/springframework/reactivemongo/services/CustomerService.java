@@ -1,16 +1,54 @@
 package guru.springframework.reactivemongo.services;
 
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
 import guru.springframework.reactivemongo.model.CustomerDTO;
+import org.bson.RawBsonDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CustomerService {
 
     Flux<CustomerDTO> findAllByCustomerName(String name);
 
+    /**
+     * @param fields fields to read, all of them when empty; the id is always read
+     */
+    Flux<CustomerDTO> findAllByCustomerName(String name, Collection<String> fields);
+
+    /**
+     * @return customers whose name starts with the prefix, ignoring case, in name then id order,
+     * after the given name and id when both are set
+     */
+    Flux<CustomerDTO> searchCustomers(String prefix, String afterName, String afterId, int limit,
+                                      Collection<String> fields);
+
     Flux<CustomerDTO> listCustomers();
 
+    Flux<CustomerDTO> listCustomers(String afterId, int limit, Collection<String> fields);
+
+    /**
+     * Same page as {@link #listCustomers(String, int, Collection)}, as the stored documents.
+     */
+    Flux<RawBsonDocument> listCustomerDocuments(String afterId, int limit, Collection<String> fields);
+
+    /**
+     * @return every stored document after the given id, in id order, fetched {@code batchSize} at a time
+     */
+    Flux<RawBsonDocument> exportCustomerDocuments(String afterId, int batchSize);
+
+    Flux<CustomerDTO> streamCustomers(Collection<String> fields);
+
+    Flux<CustomerDTO> streamCustomersByName(String name, Collection<String> fields);
+
+    Flux<ChangeEventDTO<CustomerDTO>> watchCustomers(String resumeToken);
+
     Mono<CustomerDTO> saveCustomer(CustomerDTO customerDTO);
+
+    Flux<CustomerDTO> saveCustomers(List<CustomerDTO> customerDTOs);
+
     Mono<CustomerDTO> getCustomerById(String customerId);
 
     Mono<CustomerDTO> updateCustomer(String customerId, CustomerDTO customerDTO);
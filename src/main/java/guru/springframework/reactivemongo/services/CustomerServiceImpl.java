@@ -1,27 +1,69 @@
 package guru.springframework.reactivemongo.services;
 
+import guru.springframework.reactivemongo.cache.NearCache;
+import guru.springframework.reactivemongo.cache.SingleFlight;
+import guru.springframework.reactivemongo.changes.ChangeFeed;
+import guru.springframework.reactivemongo.codecs.DtoFinder;
+import guru.springframework.reactivemongo.domain.Customer;
 import guru.springframework.reactivemongo.exception.NotFoundException;
 import guru.springframework.reactivemongo.mappers.CustomerMapper;
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import guru.springframework.reactivemongo.repositories.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
     public static final String NOT_FOUND = "Element not found";
+    public static final String ID = "id";
+    public static final String CUSTOMER_NAME = "customerName";
+
+    /**
+     * Sorts after every name starting with a prefix under the name collation, closing the range.
+     */
+    private static final String PREFIX_END = "\uffff";
+    private static final Collation NAME_COLLATION = Collation.parse(Customer.NAME_COLLATION);
 
     private final CustomerRepository customerRepository;
 
     private final CustomerMapper customerMapper;
 
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final DtoFinder dtoFinder;
+
+    private final NearCache<String, CustomerDTO> customerByIdCache;
+
+    private final ChangeFeed<Customer, CustomerDTO> customerChangeFeed;
+
+    private final SingleFlight<String, CustomerDTO> customerByIdFlight =
+        new SingleFlight<>(customerDTO -> customerDTO.toBuilder().build());
+
+    private final SingleFlight<NameQuery, CustomerDTO> customerByNameFlight =
+        new SingleFlight<>(customerDTO -> customerDTO.toBuilder().build());
 
     @Override
     public Flux<CustomerDTO> findAllByCustomerName(String name) {
@@ -30,6 +72,32 @@ public class CustomerServiceImpl implements CustomerService {
             .map(customerMapper::customerToCustomerDto);
     }
 
+    @Override
+    public Flux<CustomerDTO> findAllByCustomerName(String name, Collection<String> fields) {
+        return customerByNameFlight.flux(new NameQuery(name, Set.copyOf(fields)),
+                nameQuery -> find(Query.query(Criteria.where("customerName").is(nameQuery.name())), nameQuery.fields()))
+            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)));
+    }
+
+    @Override
+    public Flux<CustomerDTO> searchCustomers(String prefix, String afterName, String afterId, int limit,
+                                             Collection<String> fields) {
+        Criteria criteria = Criteria.where(CUSTOMER_NAME).gte(prefix).lt(prefix + PREFIX_END);
+        if (afterId != null) {
+            criteria = new Criteria().andOperator(criteria,
+                Criteria.where(CUSTOMER_NAME).gte(afterName),
+                new Criteria().orOperator(Criteria.where(CUSTOMER_NAME).gt(afterName),
+                    Criteria.where(CUSTOMER_NAME).is(afterName).and(ID).gt(new ObjectId(afterId))));
+        }
+        Query query = Query.query(criteria).collation(NAME_COLLATION).withHint(Customer.NAME_INDEX)
+            .with(PageRequest.of(0, limit, Sort.by(CUSTOMER_NAME, ID)));
+        if (!fields.isEmpty()) {
+            query.fields().include(CUSTOMER_NAME);
+        }
+
+        return find(query, fields);
+    }
+
     @Override
     public Flux<CustomerDTO> listCustomers() {
         return customerRepository.findAll()
@@ -37,55 +105,125 @@ public class CustomerServiceImpl implements CustomerService {
             .map(customerMapper::customerToCustomerDto);
     }
 
+    @Override
+    public Flux<CustomerDTO> listCustomers(String afterId, int limit, Collection<String> fields) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+        Flux<CustomerDTO> page = find(query.with(PageRequest.of(0, limit, Sort.by(ID))), fields);
+
+        return afterId == null ? page.switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND))) : page;
+    }
+
+    @Override
+    public Flux<RawBsonDocument> listCustomerDocuments(String afterId, int limit, Collection<String> fields) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+        query.with(PageRequest.of(0, limit, Sort.by(ID)));
+        fields.forEach(query.fields()::include);
+
+        Flux<RawBsonDocument> page = dtoFinder.find(query, Customer.class, RawBsonDocument.class);
+        return afterId == null ? page.switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND))) : page;
+    }
+
+    @Override
+    public Flux<RawBsonDocument> exportCustomerDocuments(String afterId, int batchSize) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(new ObjectId(afterId)));
+
+        return dtoFinder.find(query.with(Sort.by(ID)).cursorBatchSize(batchSize), Customer.class, RawBsonDocument.class)
+            .limitRate(batchSize);
+    }
+
+    @Override
+    public Flux<CustomerDTO> streamCustomers(Collection<String> fields) {
+        return find(new Query().cursorBatchSize(CustomerRepository.STREAM_BATCH_SIZE), fields)
+            .limitRate(CustomerRepository.STREAM_BATCH_SIZE);
+    }
+
+    @Override
+    public Flux<CustomerDTO> streamCustomersByName(String name, Collection<String> fields) {
+        return find(Query.query(Criteria.where("customerName").is(name)).cursorBatchSize(CustomerRepository.STREAM_BATCH_SIZE),
+            fields)
+            .limitRate(CustomerRepository.STREAM_BATCH_SIZE);
+    }
+
+    @Override
+    public Flux<ChangeEventDTO<CustomerDTO>> watchCustomers(String resumeToken) {
+        return customerChangeFeed.changes(resumeToken);
+    }
+
     @Override
     public Mono<CustomerDTO> saveCustomer(CustomerDTO customerDTO) {
         return customerRepository.save(customerMapper.customerDtoToCustomer(customerDTO))
+            .map(customerMapper::customerToCustomerDto)
+            .doOnNext(savedCustomerDTO -> evict(savedCustomerDTO.getId()));
+    }
+
+    @Override
+    public Flux<CustomerDTO> saveCustomers(List<CustomerDTO> customerDTOs) {
+        return reactiveMongoTemplate.insertAll(customerDTOs.stream().map(customerMapper::customerDtoToCustomer).toList())
             .map(customerMapper::customerToCustomerDto);
     }
 
     @Override
     public Mono<CustomerDTO> getCustomerById(String customerId) {
-        return customerRepository.findById(customerId)
-            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .map(customerMapper::customerToCustomerDto);
+        return customerByIdCache.get(customerId, id -> customerByIdFlight.mono(id, key -> customerRepository.findById(key)
+                .map(customerMapper::customerToCustomerDto)))
+            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)));
     }
 
     @Override
     public Mono<CustomerDTO> updateCustomer(String customerId, CustomerDTO customerDTO) {
-        return customerRepository.findById(customerId)
-            .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .map(customerMapper::customerToCustomerDto)
-            .flatMap(customerDTO1 -> {
-                customerDTO1.setCustomerName(customerDTO.getCustomerName());
-                return customerRepository.save(customerMapper.customerDtoToCustomer(customerDTO1))
-                    .map(customerMapper::customerToCustomerDto);
-            });
+        return findAndModify(customerId, new Update().set("customerName", customerDTO.getCustomerName()));
     }
 
     @Override
     public Mono<CustomerDTO> patchCustomer(String customerId, CustomerDTO customerDTO) {
-        return customerRepository.findById(customerId)
-            .map(customerMapper::customerToCustomerDto)
+        Update update = new Update();
+
+        if (StringUtils.hasText(customerDTO.getCustomerName())) {
+            update.set("customerName", customerDTO.getCustomerName());
+        }
+
+        return findAndModify(customerId, update);
+    }
+
+    /**
+     * Applies the update and returns the new document in a single round trip, so there is no
+     * window between read and write for a concurrent update to get lost in.
+     */
+    private Mono<CustomerDTO> findAndModify(String customerId, Update update) {
+        update.set("lastModifiedDate", LocalDateTime.now());
+
+        return reactiveMongoTemplate.findAndModify(byId(customerId), update,
+                FindAndModifyOptions.options().returnNew(true), Customer.class)
             .switchIfEmpty(Mono.error(new NotFoundException(NOT_FOUND)))
-            .flatMap(customerDTO1 -> {
-                if (StringUtils.hasText(customerDTO.getCustomerName())) {
-                    customerDTO1.setCustomerName(customerDTO.getCustomerName());
-                }
-                return customerRepository.save(customerMapper.customerDtoToCustomer(customerDTO1))
-                    .map(customerMapper::customerToCustomerDto);
-            });
+            .map(customerMapper::customerToCustomerDto)
+            .doOnSuccess(updatedCustomerDTO -> evict(customerId));
     }
 
     @Override
     public Mono<Void> deleteCustomerById(String customerId) {
-        return customerRepository.existsById(customerId)
-            .onErrorResume(throwable -> Mono.error(new RuntimeException(throwable.getMessage())))
-            .flatMap(exists -> {
-                if (Boolean.TRUE.equals(exists)) {
-                    return customerRepository.deleteById(customerId);
-                } else {
-                    return Mono.error(new NotFoundException(NOT_FOUND));
-                }
-            });
+        return reactiveMongoTemplate.remove(byId(customerId), Customer.class)
+            .doOnSuccess(deleteResult -> evict(customerId))
+            .flatMap(deleteResult -> deleteResult.getDeletedCount() == 0
+                ? Mono.error(new NotFoundException(NOT_FOUND))
+                : Mono.empty());
+    }
+
+    private Flux<CustomerDTO> find(Query query, Collection<String> fields) {
+        fields.forEach(query.fields()::include);
+
+        return dtoFinder.find(query, Customer.class, CustomerDTO.class);
+    }
+
+    private void evict(String customerId) {
+        customerByIdFlight.forget(customerId);
+        customerByNameFlight.forgetAll();
+        customerByIdCache.invalidate(customerId);
+    }
+
+    private static Query byId(String customerId) {
+        return Query.query(Criteria.where(ID).is(customerId));
+    }
+
+    private record NameQuery(String name, Set<String> fields) {
     }
 }
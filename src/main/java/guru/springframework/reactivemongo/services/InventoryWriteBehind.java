@@ -0,0 +1,224 @@
+package guru.springframework.reactivemongo.services;
+
+import com.mongodb.MongoTimeoutException;
+import guru.springframework.reactivemongo.config.InventoryWriteBehindProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces inventory deltas per beer in memory and writes them as one unordered bulk of
+ * {@code $inc} updates, either every {@code maxDelay} or as soon as {@code maxPending} beers have
+ * pending deltas. Flushes never overlap, and the last one runs on shutdown after the web server has
+ * stopped taking requests.
+ * <p>
+ * Deltas are summed with {@link ConcurrentHashMap#merge}, which only contends on the one bin a
+ * beer hashes to. A flush takes each entry out with {@code remove}, so a delta arriving during a
+ * flush starts a new entry instead of being lost.
+ * <p>
+ * {@code $inc} is not idempotent, so a failed flush only retries what it knows was not applied:
+ * the updates the bulk reports write errors for, or the whole batch when it never reached a
+ * server. Any other failure, such as a socket timeout, may have applied any part of the batch;
+ * its deltas are logged and counted as unconfirmed instead of risking a double count.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryWriteBehind implements SmartLifecycle, MeterBinder {
+
+    public static final String DELTAS = "app.inventory.writebehind.deltas";
+    public static final String WRITES = "app.inventory.writebehind.writes";
+    public static final String UNCONFIRMED = "app.inventory.writebehind.unconfirmed";
+
+    private static final String QUANTITY_ON_HAND = "quantityOnHand";
+
+    private final InventoryWriteBehindProperties properties;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final BeerService beerService;
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final Sinks.Many<Boolean> flushRequests = Sinks.many().multicast().directBestEffort();
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder unconfirmed = new LongAdder();
+
+    private volatile Sinks.One<Boolean> stopRequest;
+    private volatile Mono<Void> flushes;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Buffers a delta; it reaches Mongo with the next flush.
+     */
+    public void add(String beerId, int delta) {
+        pending.merge(beerId, (long) delta, Long::sum);
+        deltas.increment();
+
+        if (pending.size() >= properties.getMaxPending()) {
+            // Fails while a request is already being handled, which is just as good.
+            flushRequests.tryEmitNext(true);
+        }
+    }
+
+    /**
+     * Writes everything pending so far and completes with the number of beers written.
+     */
+    public Mono<Integer> flush() {
+        return Mono.defer(() -> {
+            List<Map.Entry<String, Long>> batch = new ArrayList<>();
+            pending.keySet().forEach(beerId -> {
+                Long delta = pending.remove(beerId);
+                if (delta != null && delta != 0) {
+                    batch.add(Map.entry(beerId, delta));
+                }
+            });
+
+            if (batch.isEmpty()) {
+                return Mono.just(0);
+            }
+
+            ReactiveBulkOperations bulkOperations =
+                reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Beer.class);
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach(entry -> bulkOperations.updateOne(
+                Query.query(Criteria.where(BeerServiceImpl.ID).is(entry.getKey())),
+                new Update().inc(QUANTITY_ON_HAND, entry.getValue()).set("lastModifiedDate", now)));
+            List<String> beerIds = batch.stream().map(Map.Entry::getKey).toList();
+
+            return bulkOperations.execute()
+                .doOnSuccess(bulkWriteResult -> writes.add(batch.size()))
+                .doOnError(throwable -> retryUnapplied(batch, throwable))
+                .doOnTerminate(() -> beerService.evictBeers(beerIds))
+                .thenReturn(batch.size());
+        });
+    }
+
+    private void retryUnapplied(List<Map.Entry<String, Long>> batch, Throwable failure) {
+        Optional<BulkWriteFailure> bulkWriteFailure = BulkWriteFailure.of(failure, batch.size());
+        if (bulkWriteFailure.isPresent()) {
+            Set<Integer> failed = bulkWriteFailure.get().errors().keySet();
+            failed.forEach(index -> pending.merge(batch.get(index).getKey(), batch.get(index).getValue(), Long::sum));
+            writes.add(batch.size() - failed.size());
+        } else if (neverSent(failure)) {
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+        } else {
+            unconfirmed.add(batch.size());
+            log.error("Inventory flush failed after it may have been applied, not retrying deltas {}", batch, failure);
+        }
+    }
+
+    /**
+     * Server selection and connection checkout time out with a {@link MongoTimeoutException}
+     * before anything is sent; a write that did go out fails with other exceptions.
+     */
+    private static boolean neverSent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        stopRequest = Sinks.one();
+        flushes = Flux.merge(Flux.interval(properties.getMaxDelay()).map(tick -> false), flushRequests.asFlux())
+            .takeUntilOther(stopRequest.asMono())
+            .onBackpressureDrop()
+            .concatMap(request -> flush()
+                .onErrorResume(e -> {
+                    log.warn("Inventory flush failed", e);
+                    return Mono.empty();
+                }), 1)
+            .then()
+            .cache();
+        flushes.subscribe();
+    }
+
+    /**
+     * Stops scheduling flushes and waits for the one in flight, whose batch is no longer pending,
+     * before flushing what is left.
+     */
+    @Override
+    public void stop() {
+        stopRequest.tryEmitValue(true);
+        flushes.block(properties.getShutdownTimeout());
+        stopRequest = null;
+        flushes = null;
+
+        Integer flushed = flush().block(properties.getShutdownTimeout());
+        log.info("Flushed inventory deltas of {} beers on shutdown", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stopRequest != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Stops after the web server, so no delta can arrive once the last flush has started.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(DELTAS, deltas, LongAdder::sum)
+            .description("Inventory deltas buffered")
+            .register(registry);
+        FunctionCounter.builder(WRITES, writes, LongAdder::sum)
+            .description("Beer updates written by flushes")
+            .register(registry);
+        FunctionCounter.builder(UNCONFIRMED, unconfirmed, LongAdder::sum)
+            .description("Beer updates of failed flushes that may or may not have been written")
+            .register(registry);
+        Gauge.builder("app.inventory.writebehind.pending", pending, Map::size)
+            .description("Beers with deltas waiting for a flush")
+            .register(registry);
+        Gauge.builder("app.inventory.writebehind.coalescing.ratio", this, InventoryWriteBehind::coalescingRatio)
+            .description("Deltas buffered per update written, since startup")
+            .register(registry);
+    }
+
+    private double coalescingRatio() {
+        long written = writes.sum();
+        return written == 0 ? 0 : (double) deltas.sum() / written;
+    }
+
+}
@@ -0,0 +1,166 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
+import guru.springframework.reactivemongo.services.BulkWriteFailure;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.CREATED;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.FAILED;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.INVALID;
+
+/**
+ * Validates a stream of items and writes the valid ones chunk by chunk, reporting one result per
+ * item in request order. A failed chunk marks the items it did not write as failed without
+ * aborting the batch. Items are requested from the stream only as chunks are written, so a
+ * streamed request body is read as fast as the database takes it.
+ */
+final class BatchProcessor {
+
+    private BatchProcessor() {
+    }
+
+    /**
+     * @param id    the id an item is inserted with; items carry their ids before they are saved,
+     *              so the ones a failed chunk did insert are still reported with theirs
+     * @param saver inserts one chunk in order
+     */
+    static <T> Flux<BatchItemResultDTO> process(Flux<T> items, int chunkSize,
+                                                Function<T, Errors> validator, Function<T, String> id,
+                                                Function<List<T>, Mono<Void>> saver) {
+        return process(items, chunkSize, 1, validator, validItems -> saver.apply(validItems)
+            .thenMany(Flux.fromIterable(validItems).map(item -> result(0, CREATED, id.apply(item), null)))
+            .onErrorResume(failure -> failed(failure, validItems.size(),
+                (bulkWriteFailure, index) -> result(0, CREATED, id.apply(validItems.get(index)), null))));
+    }
+
+    /**
+     * One result per item of a chunk whose write failed. When the failure tells which items were
+     * written, those get their result from {@code written} and the others fail with their own
+     * error; otherwise every item fails, as any of them may or may not have been written.
+     */
+    static Flux<BatchItemResultDTO> failed(Throwable failure, int size,
+                                           BiFunction<BulkWriteFailure, Integer, BatchItemResultDTO> written) {
+        return Flux.fromStream(BulkWriteFailure.of(failure, size)
+            .map(bulkWriteFailure -> IntStream.range(0, size).mapToObj(index -> bulkWriteFailure.applied(index)
+                ? written.apply(bulkWriteFailure, index)
+                : result(0, FAILED, null, bulkWriteFailure.error(index))))
+            .orElseGet(() -> IntStream.range(0, size).mapToObj(index -> result(0, FAILED, null, failure.getMessage()))));
+    }
+
+    /**
+     * Same as {@link #process(Flux, int, Function, Function, Function)}, writing up to {@code concurrency}
+     * chunks at once.
+     *
+     * @param writer writes one chunk and emits one result per item in the order of the chunk,
+     *               without its index; a writer that fails reports none of its items as written
+     */
+    static <T> Flux<BatchItemResultDTO> process(Flux<T> items, int chunkSize, int concurrency,
+                                                Function<T, Errors> validator,
+                                                Function<List<T>, Flux<BatchItemResultDTO>> writer) {
+        return items
+            .index()
+            .buffer(chunkSize)
+            .flatMapSequential(chunk -> processChunk(chunk, validator, writer), concurrency, 1);
+    }
+
+    /**
+     * Same as {@link #process(Flux, int, int, Function, Function)}, except that a chunk sharing a
+     * key with a chunk still being written waits for it. Writes keyed on a natural key, such as
+     * upserts, then apply in request order for each key however many chunks are in flight.
+     *
+     * @param key the key of a valid item
+     */
+    static <T> Flux<BatchItemResultDTO> process(Flux<T> items, int chunkSize, int concurrency,
+                                                Function<T, Errors> validator, Function<T, ?> key,
+                                                Function<List<T>, Flux<BatchItemResultDTO>> writer) {
+        return Flux.defer(() -> {
+            Map<Object, Mono<Void>> writing = new ConcurrentHashMap<>();
+
+            return process(items, chunkSize, concurrency, validator, validItems -> {
+                Set<?> keys = validItems.stream().map(key).collect(Collectors.toSet());
+                Sinks.Empty<Void> written = Sinks.empty();
+                Mono<Void> done = written.asMono();
+                List<Mono<Void>> earlier = keys.stream()
+                    .map(itemKey -> writing.put(itemKey, done))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+
+                return Mono.when(earlier)
+                    .thenMany(Flux.defer(() -> writer.apply(validItems)))
+                    .doFinally(signal -> {
+                        keys.forEach(itemKey -> writing.remove(itemKey, done));
+                        written.tryEmitEmpty();
+                    });
+            });
+        });
+    }
+
+    private static <T> Flux<BatchItemResultDTO> processChunk(List<Tuple2<Long, T>> chunk,
+                                                             Function<T, Errors> validator,
+                                                             Function<List<T>, Flux<BatchItemResultDTO>> writer) {
+        List<BatchItemResultDTO> invalid = new ArrayList<>();
+        List<Long> validIndexes = new ArrayList<>();
+        List<T> validItems = new ArrayList<>();
+
+        for (Tuple2<Long, T> item : chunk) {
+            Errors errors = validator.apply(item.getT2());
+            if (errors.hasErrors()) {
+                invalid.add(result(item.getT1(), INVALID, null, describe(errors)));
+            } else {
+                validIndexes.add(item.getT1());
+                validItems.add(item.getT2());
+            }
+        }
+
+        Flux<BatchItemResultDTO> saved = validItems.isEmpty() ? Flux.empty() :
+            writer.apply(validItems)
+                .collectList()
+                .flatMapMany(results -> Flux.fromIterable(results)
+                    .zipWithIterable(validIndexes, (result, index) -> {
+                        result.setIndex(index);
+                        return result;
+                    }))
+                .onErrorResume(throwable -> Flux.fromIterable(validIndexes)
+                    .map(index -> result(index, FAILED, null, throwable.getMessage())));
+
+        return Flux.fromIterable(invalid)
+            .concatWith(saved)
+            .sort(Comparator.comparingLong(BatchItemResultDTO::getIndex));
+    }
+
+    private static String describe(Errors errors) {
+        return errors.getAllErrors().stream()
+            .map(error -> error instanceof FieldError fieldError
+                ? fieldError.getField() + ": " + fieldError.getDefaultMessage()
+                : error.getDefaultMessage())
+            .collect(Collectors.joining(", "));
+    }
+
+    static BatchItemResultDTO result(long index, BatchItemResultDTO.Status status, String id, String error) {
+        return BatchItemResultDTO.builder()
+            .index(index)
+            .status(status)
+            .id(id)
+            .error(error)
+            .build();
+    }
+
+}
@@ -1,13 +1,31 @@
 package guru.springframework.reactivemongo.web.fn;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.codecs.CsvTranscoder;
+import guru.springframework.reactivemongo.codecs.JsonTranscoder;
+import guru.springframework.reactivemongo.config.BatchProperties;
+import guru.springframework.reactivemongo.config.ExportProperties;
+import guru.springframework.reactivemongo.config.ResponseCacheProperties;
+import guru.springframework.reactivemongo.exception.NotFoundException;
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.services.BeerNameIndex;
 import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.BeerServiceImpl;
+import guru.springframework.reactivemongo.services.InventoryWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.validation.Validator;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -15,9 +33,25 @@ import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
 import static guru.springframework.reactivemongo.web.fn.BeerRouterConfig.BEER_PATH;
 import static guru.springframework.reactivemongo.web.fn.BeerRouterConfig.URL;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.CREATED;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.FAILED;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.INVALID;
+import static guru.springframework.reactivemongo.model.BatchItemResultDTO.Status.UPDATED;
 import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 
 @Slf4j
 @Component
@@ -25,12 +59,58 @@ import static org.springframework.http.HttpHeaders.LOCATION;
 public class BeerHandler {
 
     public static final String BEER_ID = "beerId";
+    public static final String BEER_IDS = "ids";
+    public static final String IMPORT_REPORT = "report";
+    public static final String SUGGEST_PREFIX = "prefix";
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 100;
+    private static final Map<String, Function<BeerDTO, Object>> BEER_FIELDS = Map.of(
+        "id", BeerDTO::getId,
+        "beerName", BeerDTO::getBeerName,
+        "beerStyle", BeerDTO::getBeerStyle,
+        "upc", BeerDTO::getUpc,
+        "quantityOnHand", BeerDTO::getQuantityOnHand,
+        "price", BeerDTO::getPrice,
+        "createdDate", BeerDTO::getCreatedDate,
+        "lastModifiedDate", BeerDTO::getLastModifiedDate);
+    private static final List<String> EXPORT_COLUMNS = List.of(
+        "id", "beerName", "beerStyle", "upc", "quantityOnHand", "price", "createdDate", "lastModifiedDate");
+    private static final Set<String> DECIMAL_FIELDS = Set.of("price");
     private final BeerService beerService;
     private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final JsonTranscoder jsonTranscoder;
+    private final InventoryWriteBehind inventoryWriteBehind;
+    private final ResponseCache beerListResponseCache;
+    private final ResponseCacheProperties responseCacheProperties;
+    private final ObjectMapper objectMapper;
+    private final CsvTranscoder csvTranscoder;
+    private final ExportProperties exportProperties;
+    private final BeerNameIndex beerNameIndex;
 
-    private void validate(BeerDTO beerDTO) {
+    /**
+     * @return the cache key of a list query, the same for any order of its fields
+     */
+    private static String listKey(String query, FieldSelection<BeerDTO> fields) {
+        return query + "&fields=" + String.join(",", new TreeSet<>(fields.names()));
+    }
+
+    private byte[] writeJson(List<Object> beers) {
+        try {
+            return objectMapper.writeValueAsBytes(beers);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Errors validationErrors(BeerDTO beerDTO) {
         Errors errors = new BeanPropertyBindingResult(beerDTO, "beerDto");
         validator.validate(beerDTO, errors);
+        return errors;
+    }
+
+    private void validate(BeerDTO beerDTO) {
+        Errors errors = validationErrors(beerDTO);
 
         if (errors.hasErrors()) {
             throw new ServerWebInputException(errors.toString());
@@ -38,22 +118,83 @@ public class BeerHandler {
     }
 
     public Mono<ServerResponse> listBeers(ServerRequest serverRequest) {
-
-        Flux<BeerDTO> beerDTOFlux;
+        FieldSelection<BeerDTO> fields = FieldSelection.of(serverRequest, BEER_FIELDS);
+        MediaType contentType = ObjectMediaTypes.negotiate(serverRequest, ObjectMediaTypes.LISTS);
+        boolean cached = responseCacheProperties.isEnabled() && MediaType.APPLICATION_JSON.equals(contentType);
 
         if (serverRequest.queryParam("beerStyle").isPresent()) {
-            beerDTOFlux = beerService.findAllByBeerStyle(serverRequest.queryParam("beerStyle").get());
-        } else {
-            beerDTOFlux = beerService.listBeers();
+            String beerStyle = serverRequest.queryParam("beerStyle").get();
+            if (cached) {
+                return CachedResponses.ok(serverRequest, beerListResponseCache.get(
+                    listKey("beerStyle=" + beerStyle, fields),
+                    key -> fields.write(beerService.findAllByBeerStyle(beerStyle, fields.names()))
+                        .collectList()
+                        .map(beers -> beerListResponseCache.body(writeJson(beers), Map.of()))));
+            }
+            return ObjectMediaTypes.ok(serverRequest, fields.write(beerService.findAllByBeerStyle(beerStyle, fields.names())));
         }
 
+        int limit = KeysetPage.limit(serverRequest);
+        String after = KeysetPage.after(serverRequest);
+        if (!MediaType.APPLICATION_JSON.equals(contentType)) {
+            return KeysetPage.ok(beerService.listBeers(after, limit, fields.names()), limit,
+                BeerDTO::getId, fields::write, contentType);
+        }
+        if (cached) {
+            return CachedResponses.ok(serverRequest, beerListResponseCache.get(
+                listKey("after=" + Objects.toString(after, "") + "&limit=" + limit, fields),
+                key -> KeysetPage.cachedBody(beerService.listBeerDocuments(after, limit, fields.names()), limit,
+                    jsonTranscoder, fields.writtenNames(EXPORT_COLUMNS), DECIMAL_FIELDS, beerListResponseCache)));
+        }
+        return KeysetPage.ok(beerService.listBeerDocuments(after, limit, fields.names()), limit,
+            jsonTranscoder, fields.writtenNames(EXPORT_COLUMNS), DECIMAL_FIELDS);
+    }
+
+    public Mono<ServerResponse> streamBeers(ServerRequest serverRequest) {
+        FieldSelection<BeerDTO> fields = FieldSelection.of(serverRequest, BEER_FIELDS);
+        Flux<BeerDTO> beerDTOFlux = serverRequest.queryParam("beerStyle")
+            .map(beerStyle -> beerService.streamBeersByStyle(beerStyle, fields.names()))
+            .orElseGet(() -> beerService.streamBeers(fields.names()));
+
         return ServerResponse.ok()
-            .body(beerDTOFlux, BeerDTO.class);
+            .contentType(StreamingMediaTypes.negotiate(serverRequest))
+            .body(fields.write(beerDTOFlux), Object.class);
     }
 
-    public Mono<ServerResponse> getBeerById(ServerRequest serverRequest) {
+    public Mono<ServerResponse> exportBeers(ServerRequest serverRequest) {
+        int batchSize = exportProperties.getBatchSize();
+
+        return Exports.ok(serverRequest, beerService.exportBeerDocuments(Exports.afterId(serverRequest), batchSize),
+            batchSize, EXPORT_COLUMNS, DECIMAL_FIELDS, jsonTranscoder, csvTranscoder);
+    }
+
+    public Mono<ServerResponse> suggestBeerNames(ServerRequest serverRequest) {
+        String prefix = serverRequest.queryParam(SUGGEST_PREFIX).filter(StringUtils::hasText)
+            .orElseThrow(() -> new ServerWebInputException("A prefix is required"));
+        int limit;
+        try {
+            limit = serverRequest.queryParam(KeysetPage.LIMIT).map(Integer::parseInt).orElse(DEFAULT_SUGGESTIONS);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid limit");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ServerWebInputException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
         return ServerResponse.ok()
-            .body(beerService.getBeerById(serverRequest.pathVariable(BEER_ID)), BeerDTO.class);
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(beerNameIndex.suggest(prefix, limit));
+    }
+
+    public Mono<ServerResponse> streamBeerChanges(ServerRequest serverRequest) {
+        return ChangeEvents.ok(serverRequest, beerService.watchBeers(ChangeEvents.resumeToken(serverRequest)));
+    }
+
+    public Mono<ServerResponse> getBeerById(ServerRequest serverRequest) {
+        FieldSelection<BeerDTO> fields = FieldSelection.of(serverRequest, BEER_FIELDS);
+
+        return ObjectMediaTypes.ok(serverRequest, fields)
+            .body(fields.write(beerService.getBeerById(serverRequest.pathVariable(BEER_ID))), fields.bodyType(BeerDTO.class));
     }
 
     public Mono<ServerResponse> deleteBeerById(ServerRequest serverRequest) {
@@ -62,6 +203,23 @@ public class BeerHandler {
 
     }
 
+    public Mono<ServerResponse> deleteBeers(ServerRequest serverRequest) {
+        List<String> beerIds = serverRequest.queryParams().getOrDefault(BEER_IDS, List.of()).stream()
+            .flatMap(ids -> Arrays.stream(ids.split(",")))
+            .filter(StringUtils::hasText)
+            .distinct()
+            .toList();
+
+        if (beerIds.isEmpty() || beerIds.size() > KeysetPage.MAX_LIMIT) {
+            throw new ServerWebInputException("Between 1 and " + KeysetPage.MAX_LIMIT + " ids are required");
+        }
+
+        return beerService.deleteBeersByIds(beerIds)
+            .flatMap(deletedCount -> deletedCount == 0
+                ? Mono.error(new NotFoundException(BeerServiceImpl.NOT_FOUND))
+                : ServerResponse.noContent().build());
+    }
+
     public Mono<ServerResponse> createBeer(ServerRequest serverRequest) {
         return serverRequest
             .bodyToMono(BeerDTO.class)
@@ -69,12 +227,87 @@ public class BeerHandler {
             .flatMap(beerDTO ->
                 beerService.saveBeer(beerDTO)
                     .flatMap(savedBeerDTO ->
-                        ServerResponse
-                            .ok()
+                        ObjectMediaTypes.ok(serverRequest)
                             .headers(httpHeaders -> httpHeaders.add(LOCATION, URL + BEER_PATH + "/" + savedBeerDTO.getId()))
                             .body(Mono.just(savedBeerDTO), BeerDTO.class)));
     }
 
+    public Mono<ServerResponse> createBeers(ServerRequest serverRequest) {
+        Flux<BatchItemResultDTO> results = BatchProcessor.process(
+            serverRequest.bodyToFlux(BeerDTO.class)
+                .map(beerDTO -> beerDTO.getId() == null
+                    ? beerDTO.toBuilder().id(new ObjectId().toHexString()).build()
+                    : beerDTO),
+            batchProperties.getChunkSize(),
+            this::validationErrors,
+            BeerDTO::getId,
+            beerDTOs -> beerService.saveBeers(beerDTOs).then());
+
+        return ServerResponse.ok()
+            .body(results, BatchItemResultDTO.class);
+    }
+
+    /**
+     * Upserts the beers of an NDJSON or CSV body by upc. The report streams a result for every
+     * record that could not be written, or for every record with {@code report=all}.
+     */
+    public Mono<ServerResponse> importBeers(ServerRequest serverRequest) {
+        boolean reportAll = serverRequest.queryParam(IMPORT_REPORT).filter("all"::equals).isPresent();
+        Flux<BatchItemResultDTO> results = BatchProcessor.process(
+            ImportRecords.read(serverRequest, BeerDTO.class, objectMapper),
+            batchProperties.getChunkSize(),
+            batchProperties.getImportConcurrency(),
+            this::importErrors,
+            importRecord -> importRecord.value().getUpc(),
+            records -> {
+                List<BeerDTO> beerDTOs = records.stream().map(ImportRecords.ImportRecord::value).toList();
+                return beerService.upsertBeersByUpc(beerDTOs)
+                    .flatMapIterable(insertedIds -> IntStream.range(0, beerDTOs.size())
+                        .mapToObj(i -> insertedIds.containsKey(i)
+                            ? BatchProcessor.result(0, CREATED, insertedIds.get(i), null)
+                            : BatchProcessor.result(0, UPDATED, null, null))
+                        .toList())
+                    .onErrorResume(failure -> BatchProcessor.failed(failure, beerDTOs.size(), (bulkWriteFailure, i) ->
+                        bulkWriteFailure.upsertedIds().containsKey(i)
+                            ? BatchProcessor.result(0, CREATED, bulkWriteFailure.upsertedIds().get(i), null)
+                            : BatchProcessor.result(0, UPDATED, null, null)));
+            });
+
+        return ServerResponse.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(reportAll ? results : results.filter(result -> result.getStatus() == INVALID || result.getStatus() == FAILED),
+                BatchItemResultDTO.class);
+    }
+
+    private Errors importErrors(ImportRecords.ImportRecord<BeerDTO> importRecord) {
+        if (importRecord.value() == null) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "beerDto");
+            errors.reject("unreadable", importRecord.error());
+            return errors;
+        }
+
+        Errors errors = validationErrors(importRecord.value());
+        if (!StringUtils.hasText(importRecord.value().getUpc())) {
+            errors.rejectValue("upc", "NotBlank", "must not be blank");
+        }
+        return errors;
+    }
+
+    public Mono<ServerResponse> adjustInventory(ServerRequest serverRequest) {
+        return serverRequest
+            .bodyToMono(InventoryAdjustmentDTO.class)
+            .filter(adjustment -> adjustment.getDelta() != null && adjustment.getDelta() != 0)
+            .switchIfEmpty(Mono.error(new ServerWebInputException("A non-zero delta is required")))
+            .flatMap(adjustment -> {
+                if (inventoryWriteBehind.isEnabled()) {
+                    inventoryWriteBehind.add(serverRequest.pathVariable(BEER_ID), adjustment.getDelta());
+                    return ServerResponse.accepted().build();
+                }
+                return beerService.adjustInventory(serverRequest.pathVariable(BEER_ID), adjustment.getDelta())
+                    .flatMap(beerDTO -> ObjectMediaTypes.ok(serverRequest).body(Mono.just(beerDTO), BeerDTO.class));
+            });
+    }
+
     public Mono<ServerResponse> updateOrPatchBeer(ServerRequest serverRequest) {
         return serverRequest
             .bodyToMono(BeerDTO.class)
@@ -88,8 +321,7 @@ public class BeerHandler {
                 }
                 return beerDTOMono
                     .flatMap(savedBeerDTO ->
-                        ServerResponse
-                            .ok()
+                        ObjectMediaTypes.ok(serverRequest)
                             .headers(httpHeaders -> httpHeaders.add(LOCATION, URL + BEER_PATH + "/" + savedBeerDTO.getId()))
                             .body(Mono.just(savedBeerDTO), BeerDTO.class));
             });
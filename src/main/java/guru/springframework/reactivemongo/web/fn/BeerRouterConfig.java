@@ -7,7 +7,9 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
@@ -18,18 +20,32 @@ public class BeerRouterConfig {
 
     public static final String BEER_PATH = "/api/v3/beer";
     public static final String BEER_PATH_ID = BEER_PATH + "/{beerId}";
+    public static final String BEER_BATCH_PATH = BEER_PATH + "/batch";
+    public static final String BEER_CHANGES_PATH = BEER_PATH + "/changes";
+    public static final String BEER_EXPORT_PATH = BEER_PATH + "/export";
+    public static final String BEER_IMPORT_PATH = BEER_PATH + "/import";
+    public static final String BEER_SUGGEST_PATH = BEER_PATH + "/suggest";
+    public static final String BEER_INVENTORY_PATH = BEER_PATH_ID + "/inventory";
 
     public static final String URL = "http://localhost:8080";
 
     @Bean
     public RouterFunction<ServerResponse> beerRoutes() {
         return route()
-            .GET(BEER_PATH, accept(APPLICATION_JSON), beerHandler::listBeers)
-            .GET(BEER_PATH_ID, accept(APPLICATION_JSON), beerHandler::getBeerById)
-            .POST(BEER_PATH, accept(APPLICATION_JSON), beerHandler::createBeer)
-            .PUT(BEER_PATH_ID, accept(APPLICATION_JSON), beerHandler::updateOrPatchBeer)
-            .PATCH(BEER_PATH_ID, accept(APPLICATION_JSON), beerHandler::updateOrPatchBeer)
+            .GET(BEER_PATH, accept(ObjectMediaTypes.LISTS), beerHandler::listBeers)
+            .GET(BEER_PATH, accept(StreamingMediaTypes.ALL), beerHandler::streamBeers)
+            .GET(BEER_CHANGES_PATH, accept(StreamingMediaTypes.ALL), beerHandler::streamBeerChanges)
+            .GET(BEER_SUGGEST_PATH, accept(APPLICATION_JSON), beerHandler::suggestBeerNames)
+            .GET(BEER_EXPORT_PATH, accept(Exports.ALL), beerHandler::exportBeers)
+            .GET(BEER_PATH_ID, accept(ObjectMediaTypes.ALL), beerHandler::getBeerById)
+            .POST(BEER_PATH, accept(ObjectMediaTypes.ALL), beerHandler::createBeer)
+            .POST(BEER_BATCH_PATH, contentType(APPLICATION_JSON, APPLICATION_NDJSON), beerHandler::createBeers)
+            .POST(BEER_IMPORT_PATH, contentType(ImportRecords.ALL), beerHandler::importBeers)
+            .POST(BEER_INVENTORY_PATH, accept(ObjectMediaTypes.ALL), beerHandler::adjustInventory)
+            .PUT(BEER_PATH_ID, accept(ObjectMediaTypes.ALL), beerHandler::updateOrPatchBeer)
+            .PATCH(BEER_PATH_ID, accept(ObjectMediaTypes.ALL), beerHandler::updateOrPatchBeer)
             .DELETE(BEER_PATH_ID, accept(APPLICATION_JSON), beerHandler::deleteBeerById)
+            .DELETE(BEER_PATH, accept(APPLICATION_JSON), beerHandler::deleteBeers)
             .build();
     }
 
@@ -0,0 +1,43 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.cache.CachedBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes JSON bodies kept in a {@link guru.springframework.reactivemongo.cache.ResponseCache}. The
+ * body goes out as a buffer wrapping the cached bytes, gzipped when the client accepts it and a
+ * gzipped copy was kept.
+ */
+public final class CachedResponses {
+
+    private CachedResponses() {
+    }
+
+    public static Mono<ServerResponse> ok(ServerRequest serverRequest, Mono<CachedBody> cachedBody) {
+        return cachedBody.flatMap(body -> {
+            boolean gzipped = body.isGzipped() && GzipEncoding.acceptsGzip(serverRequest);
+            ByteBuffer bytes = gzipped ? body.gzippedBody() : body.body();
+
+            return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(httpHeaders -> {
+                    body.headers().forEach(httpHeaders::add);
+                    if (body.isGzipped()) {
+                        httpHeaders.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    }
+                    if (gzipped) {
+                        httpHeaders.set(HttpHeaders.CONTENT_ENCODING, GzipEncoding.GZIP);
+                    }
+                })
+                .body((outputMessage, context) -> outputMessage.writeWith(
+                    Mono.fromSupplier(() -> outputMessage.bufferFactory().wrap(bytes.duplicate()))));
+        });
+    }
+
+}
@@ -0,0 +1,58 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.changes.ChangeFeed;
+import guru.springframework.reactivemongo.model.ChangeEventDTO;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+/**
+ * Resume token handling and response writing for the change feed endpoints. Over SSE the resume
+ * token is also the event id, so browsers send it back as {@code Last-Event-ID} on reconnect.
+ */
+public final class ChangeEvents {
+
+    public static final String RESUME_AFTER = "resumeAfter";
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private ChangeEvents() {
+    }
+
+    public static String resumeToken(ServerRequest serverRequest) {
+        String resumeToken = serverRequest.queryParam(RESUME_AFTER)
+            .orElseGet(() -> serverRequest.headers().firstHeader(LAST_EVENT_ID));
+
+        if (resumeToken != null && !ChangeFeed.isValidResumeToken(resumeToken)) {
+            throw new ServerWebInputException("Invalid resume token");
+        }
+        return resumeToken;
+    }
+
+    public static <T> Mono<ServerResponse> ok(ServerRequest serverRequest, Flux<ChangeEventDTO<T>> changes) {
+        MediaType mediaType = StreamingMediaTypes.negotiate(serverRequest);
+
+        if (TEXT_EVENT_STREAM.equals(mediaType)) {
+            return ServerResponse.ok()
+                .contentType(TEXT_EVENT_STREAM)
+                .body(changes.map(ChangeEvents::toServerSentEvent), ServerSentEvent.class);
+        }
+
+        return ServerResponse.ok()
+            .contentType(mediaType)
+            .body(changes, ChangeEventDTO.class);
+    }
+
+    private static <T> ServerSentEvent<ChangeEventDTO<T>> toServerSentEvent(ChangeEventDTO<T> changeEventDTO) {
+        return ServerSentEvent.builder(changeEventDTO)
+            .id(changeEventDTO.getResumeToken())
+            .event(changeEventDTO.getOperationType())
+            .build();
+    }
+
+}
@@ -1,11 +1,19 @@
 package guru.springframework.reactivemongo.web.fn;
 
+import guru.springframework.reactivemongo.codecs.CsvTranscoder;
+import guru.springframework.reactivemongo.codecs.JsonTranscoder;
+import guru.springframework.reactivemongo.config.BatchProperties;
+import guru.springframework.reactivemongo.config.ExportProperties;
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import guru.springframework.reactivemongo.services.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -15,6 +23,11 @@ import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static guru.springframework.reactivemongo.web.fn.BeerRouterConfig.URL;
 import static guru.springframework.reactivemongo.web.fn.CustomerRouterConfig.CUSTOMER_PATH;
 import static org.springframework.http.HttpHeaders.LOCATION;
@@ -25,12 +38,30 @@ import static org.springframework.http.HttpHeaders.LOCATION;
 public class CustomerHandler {
 
     public static final String CUSTOMER_ID = "customerId";
+    public static final String SEARCH_QUERY = "q";
+    private static final char CURSOR_SEPARATOR = ':';
+    private static final Map<String, Function<CustomerDTO, Object>> CUSTOMER_FIELDS = Map.of(
+        "id", CustomerDTO::getId,
+        "customerName", CustomerDTO::getCustomerName,
+        "createdDate", CustomerDTO::getCreatedDate,
+        "lastModifiedDate", CustomerDTO::getLastModifiedDate);
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "customerName", "createdDate", "lastModifiedDate");
+    private static final Set<String> DECIMAL_FIELDS = Set.of();
     private final CustomerService customerService;
     private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final JsonTranscoder jsonTranscoder;
+    private final CsvTranscoder csvTranscoder;
+    private final ExportProperties exportProperties;
 
-    private void validate(CustomerDTO customerDTO) {
+    private Errors validationErrors(CustomerDTO customerDTO) {
         Errors errors = new BeanPropertyBindingResult(customerDTO, "customerDto");
         validator.validate(customerDTO, errors);
+        return errors;
+    }
+
+    private void validate(CustomerDTO customerDTO) {
+        Errors errors = validationErrors(customerDTO);
 
         if (errors.hasErrors()) {
             throw new ServerWebInputException(errors.toString());
@@ -38,22 +69,79 @@ public class CustomerHandler {
     }
 
     public Mono<ServerResponse> listCustomers(ServerRequest serverRequest) {
-
-        Flux<CustomerDTO> customerDTOFlux;
+        FieldSelection<CustomerDTO> fields = FieldSelection.of(serverRequest, CUSTOMER_FIELDS);
 
         if (serverRequest.queryParam("customerName").isPresent()) {
-            customerDTOFlux = customerService.findAllByCustomerName(serverRequest.queryParam("customerName").get());
-        } else {
-            customerDTOFlux = customerService.listCustomers();
+            return ObjectMediaTypes.ok(serverRequest,
+                fields.write(customerService.findAllByCustomerName(serverRequest.queryParam("customerName").get(),
+                    fields.names())));
         }
 
+        int limit = KeysetPage.limit(serverRequest);
+        MediaType contentType = ObjectMediaTypes.negotiate(serverRequest, ObjectMediaTypes.LISTS);
+        if (!MediaType.APPLICATION_JSON.equals(contentType)) {
+            return KeysetPage.ok(customerService.listCustomers(KeysetPage.after(serverRequest), limit, fields.names()),
+                limit, CustomerDTO::getId, fields::write, contentType);
+        }
+        return KeysetPage.ok(customerService.listCustomerDocuments(KeysetPage.after(serverRequest), limit, fields.names()),
+            limit, jsonTranscoder, fields.writtenNames(EXPORT_COLUMNS), DECIMAL_FIELDS);
+    }
+
+    /**
+     * A page of customers whose name starts with {@code q}, ignoring case. The cursor wraps the id
+     * and name of the last customer, as the page is ordered by name.
+     */
+    public Mono<ServerResponse> searchCustomers(ServerRequest serverRequest) {
+        String prefix = serverRequest.queryParam(SEARCH_QUERY).filter(StringUtils::hasText)
+            .orElseThrow(() -> new ServerWebInputException("A query is required"));
+        FieldSelection<CustomerDTO> fields = FieldSelection.of(serverRequest, CUSTOMER_FIELDS);
+        int limit = KeysetPage.limit(serverRequest);
+        String afterId = null;
+        String afterName = null;
+
+        String after = serverRequest.queryParam(KeysetPage.AFTER).map(KeysetPage::decode).orElse(null);
+        if (after != null) {
+            int separator = after.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0 || !ObjectId.isValid(after.substring(0, separator))) {
+                throw new ServerWebInputException("Invalid cursor");
+            }
+            afterId = after.substring(0, separator);
+            afterName = after.substring(separator + 1);
+        }
+
+        return KeysetPage.ok(customerService.searchCustomers(prefix, afterName, afterId, limit, fields.names()), limit,
+            customerDTO -> customerDTO.getId() + CURSOR_SEPARATOR + customerDTO.getCustomerName(), fields::write,
+            ObjectMediaTypes.negotiate(serverRequest, ObjectMediaTypes.LISTS));
+    }
+
+    public Mono<ServerResponse> streamCustomers(ServerRequest serverRequest) {
+        FieldSelection<CustomerDTO> fields = FieldSelection.of(serverRequest, CUSTOMER_FIELDS);
+        Flux<CustomerDTO> customerDTOFlux = serverRequest.queryParam("customerName")
+            .map(customerName -> customerService.streamCustomersByName(customerName, fields.names()))
+            .orElseGet(() -> customerService.streamCustomers(fields.names()));
+
         return ServerResponse.ok()
-            .body(customerDTOFlux, CustomerDTO.class);
+            .contentType(StreamingMediaTypes.negotiate(serverRequest))
+            .body(fields.write(customerDTOFlux), Object.class);
+    }
+
+    public Mono<ServerResponse> exportCustomers(ServerRequest serverRequest) {
+        int batchSize = exportProperties.getBatchSize();
+
+        return Exports.ok(serverRequest, customerService.exportCustomerDocuments(Exports.afterId(serverRequest), batchSize),
+            batchSize, EXPORT_COLUMNS, DECIMAL_FIELDS, jsonTranscoder, csvTranscoder);
+    }
+
+    public Mono<ServerResponse> streamCustomerChanges(ServerRequest serverRequest) {
+        return ChangeEvents.ok(serverRequest, customerService.watchCustomers(ChangeEvents.resumeToken(serverRequest)));
     }
 
     public Mono<ServerResponse> getCustomerById(ServerRequest serverRequest) {
-        return ServerResponse.ok()
-            .body(customerService.getCustomerById(serverRequest.pathVariable(CUSTOMER_ID)), CustomerDTO.class);
+        FieldSelection<CustomerDTO> fields = FieldSelection.of(serverRequest, CUSTOMER_FIELDS);
+
+        return ObjectMediaTypes.ok(serverRequest, fields)
+            .body(fields.write(customerService.getCustomerById(serverRequest.pathVariable(CUSTOMER_ID))),
+                fields.bodyType(CustomerDTO.class));
     }
 
     public Mono<ServerResponse> deleteCustomerById(ServerRequest serverRequest) {
@@ -69,12 +157,26 @@ public class CustomerHandler {
             .flatMap(customerDTO ->
                 customerService.saveCustomer(customerDTO)
                     .flatMap(savedCustomerDTO ->
-                        ServerResponse
-                            .ok()
+                        ObjectMediaTypes.ok(serverRequest)
                             .headers(httpHeaders -> httpHeaders.add(LOCATION, URL + CUSTOMER_PATH + "/" + savedCustomerDTO.getId()))
                             .body(Mono.just(savedCustomerDTO), CustomerDTO.class)));
     }
 
+    public Mono<ServerResponse> createCustomers(ServerRequest serverRequest) {
+        Flux<BatchItemResultDTO> results = BatchProcessor.process(
+            serverRequest.bodyToFlux(CustomerDTO.class)
+                .map(customerDTO -> customerDTO.getId() == null
+                    ? customerDTO.toBuilder().id(new ObjectId().toHexString()).build()
+                    : customerDTO),
+            batchProperties.getChunkSize(),
+            this::validationErrors,
+            CustomerDTO::getId,
+            customerDTOs -> customerService.saveCustomers(customerDTOs).then());
+
+        return ServerResponse.ok()
+            .body(results, BatchItemResultDTO.class);
+    }
+
     public Mono<ServerResponse> updateOrPatchCustomer(ServerRequest serverRequest) {
         return serverRequest
             .bodyToMono(CustomerDTO.class)
@@ -88,8 +190,7 @@ public class CustomerHandler {
                 }
                 return customerDTOMono
                     .flatMap(savedCustomerDTO ->
-                        ServerResponse
-                            .ok()
+                        ObjectMediaTypes.ok(serverRequest)
                             .headers(httpHeaders -> httpHeaders.add(LOCATION, URL + CUSTOMER_PATH + "/" + savedCustomerDTO.getId()))
                             .body(Mono.just(savedCustomerDTO), CustomerDTO.class));
             });
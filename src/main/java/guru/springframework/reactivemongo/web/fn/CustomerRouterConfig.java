@@ -7,7 +7,9 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
@@ -18,15 +20,24 @@ public class CustomerRouterConfig {
 
     public static final String CUSTOMER_PATH = "/api/v3/customer";
     public static final String CUSTOMER_PATH_ID = CUSTOMER_PATH + "/{customerId}";
+    public static final String CUSTOMER_BATCH_PATH = CUSTOMER_PATH + "/batch";
+    public static final String CUSTOMER_CHANGES_PATH = CUSTOMER_PATH + "/changes";
+    public static final String CUSTOMER_EXPORT_PATH = CUSTOMER_PATH + "/export";
+    public static final String CUSTOMER_SEARCH_PATH = CUSTOMER_PATH + "/search";
 
     @Bean
     public RouterFunction<ServerResponse> customerRoutes() {
         return route()
-            .GET(CUSTOMER_PATH, accept(APPLICATION_JSON), customerHandler::listCustomers)
-            .GET(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), customerHandler::getCustomerById)
-            .POST(CUSTOMER_PATH, accept(APPLICATION_JSON), customerHandler::createCustomer)
-            .PUT(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), customerHandler::updateOrPatchCustomer)
-            .PATCH(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), customerHandler::updateOrPatchCustomer)
+            .GET(CUSTOMER_PATH, accept(ObjectMediaTypes.LISTS), customerHandler::listCustomers)
+            .GET(CUSTOMER_PATH, accept(StreamingMediaTypes.ALL), customerHandler::streamCustomers)
+            .GET(CUSTOMER_CHANGES_PATH, accept(StreamingMediaTypes.ALL), customerHandler::streamCustomerChanges)
+            .GET(CUSTOMER_EXPORT_PATH, accept(Exports.ALL), customerHandler::exportCustomers)
+            .GET(CUSTOMER_SEARCH_PATH, accept(ObjectMediaTypes.LISTS), customerHandler::searchCustomers)
+            .GET(CUSTOMER_PATH_ID, accept(ObjectMediaTypes.ALL), customerHandler::getCustomerById)
+            .POST(CUSTOMER_PATH, accept(ObjectMediaTypes.ALL), customerHandler::createCustomer)
+            .POST(CUSTOMER_BATCH_PATH, contentType(APPLICATION_JSON, APPLICATION_NDJSON), customerHandler::createCustomers)
+            .PUT(CUSTOMER_PATH_ID, accept(ObjectMediaTypes.ALL), customerHandler::updateOrPatchCustomer)
+            .PATCH(CUSTOMER_PATH_ID, accept(ObjectMediaTypes.ALL), customerHandler::updateOrPatchCustomer)
             .DELETE(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), customerHandler::deleteCustomerById)
             .build();
     }
@@ -0,0 +1,86 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.codecs.CsvTranscoder;
+import guru.springframework.reactivemongo.codecs.JsonTranscoder;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+/**
+ * Full collection exports as NDJSON or CSV, written batch by batch from the cursor straight into
+ * buffers of the server's allocator. An export is resumed by passing the id of the last record
+ * received as {@code afterId}.
+ */
+public final class Exports {
+
+    public static final String AFTER_ID = "afterId";
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    public static final MediaType[] ALL = {APPLICATION_NDJSON, TEXT_CSV};
+
+    private Exports() {
+    }
+
+    public static String afterId(ServerRequest serverRequest) {
+        String afterId = serverRequest.queryParam(AFTER_ID).orElse(null);
+
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            throw new ServerWebInputException("Invalid " + AFTER_ID);
+        }
+        return afterId;
+    }
+
+    /**
+     * @return NDJSON unless CSV is accepted and NDJSON is not
+     */
+    public static MediaType negotiate(ServerRequest serverRequest) {
+        List<MediaType> accepted = serverRequest.headers().accept();
+        boolean csv = accepted.stream().anyMatch(TEXT_CSV::equalsTypeAndSubtype)
+            && accepted.stream().noneMatch(APPLICATION_NDJSON::equalsTypeAndSubtype);
+
+        return csv ? TEXT_CSV : APPLICATION_NDJSON;
+    }
+
+    /**
+     * @param columns       the CSV columns and JSON fields, in order
+     * @param decimalFields top-level fields holding a {@code BigDecimal} stored as a string
+     */
+    public static Mono<ServerResponse> ok(ServerRequest serverRequest, Flux<RawBsonDocument> documents, int batchSize,
+                                          List<String> columns, Set<String> decimalFields,
+                                          JsonTranscoder jsonTranscoder, CsvTranscoder csvTranscoder) {
+        MediaType contentType = negotiate(serverRequest);
+        boolean gzipped = GzipEncoding.acceptsGzip(serverRequest);
+
+        return ServerResponse.ok()
+            .contentType(contentType)
+            .headers(httpHeaders -> {
+                httpHeaders.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzipped) {
+                    httpHeaders.set(HttpHeaders.CONTENT_ENCODING, GzipEncoding.GZIP);
+                }
+            })
+            .body((outputMessage, context) -> {
+                DataBufferFactory dataBufferFactory = outputMessage.bufferFactory();
+                Flux<List<RawBsonDocument>> batches = documents.buffer(batchSize);
+                Flux<DataBuffer> body = TEXT_CSV.equals(contentType)
+                    ? batches.map(batch -> csvTranscoder.writeRows(batch, columns, dataBufferFactory))
+                        .startWith(Mono.fromSupplier(() -> csvTranscoder.writeHeader(columns, dataBufferFactory)))
+                    : batches.map(batch -> jsonTranscoder.writeLines(batch, columns, decimalFields, dataBufferFactory));
+
+                return outputMessage.writeWith(gzipped ? GzipEncoding.gzip(body, dataBufferFactory) : body);
+            });
+    }
+
+}
@@ -0,0 +1,96 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Fields a client asked for with {@code ?fields=a,b}. The names are passed down to Mongo as a
+ * projection, and each element is written as a map holding only those fields, so unrequested
+ * fields are neither read from the database nor serialized. Without the parameter elements are
+ * written unchanged.
+ */
+public final class FieldSelection<T> {
+
+    public static final String FIELDS = "fields";
+
+    private final Map<String, Function<T, Object>> selected;
+
+    private FieldSelection(Map<String, Function<T, Object>> selected) {
+        this.selected = selected;
+    }
+
+    /**
+     * @param available the selectable fields and how to read each one from an element
+     */
+    public static <T> FieldSelection<T> of(ServerRequest serverRequest, Map<String, Function<T, Object>> available) {
+        Map<String, Function<T, Object>> selected = new LinkedHashMap<>();
+
+        serverRequest.queryParams().getOrDefault(FIELDS, List.of()).stream()
+            .flatMap(fields -> Arrays.stream(fields.split(",")))
+            .map(String::trim)
+            .filter(StringUtils::hasText)
+            .forEach(field -> {
+                Function<T, Object> accessor = available.get(field);
+                if (accessor == null) {
+                    throw new ServerWebInputException("Unknown field " + field);
+                }
+                selected.put(field, accessor);
+            });
+
+        return new FieldSelection<>(selected);
+    }
+
+    /**
+     * @return the selected field names, empty when all fields are wanted
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(selected.keySet());
+    }
+
+    /**
+     * @param allFields every field of an element, in the order it is written in
+     * @return the fields each element is written with
+     */
+    public Collection<String> writtenNames(List<String> allFields) {
+        return selected.isEmpty() ? allFields : names();
+    }
+
+    /**
+     * @return the element type to declare for a body of written elements: the element class
+     * itself unless fields are selected, so encoders limited to that class can still write it
+     */
+    public Class<?> bodyType(Class<T> elementClass) {
+        return selected.isEmpty() ? elementClass : Object.class;
+    }
+
+    public Object write(T element) {
+        if (selected.isEmpty()) {
+            return element;
+        }
+
+        Map<String, Object> trimmed = new LinkedHashMap<>(selected.size() * 2);
+        selected.forEach((field, accessor) -> trimmed.put(field, accessor.apply(element)));
+        return trimmed;
+    }
+
+    public Flux<Object> write(Flux<T> elements) {
+        return elements.map(this::write);
+    }
+
+    public Mono<Object> write(Mono<T> element) {
+        return element.map(this::write);
+    }
+
+}
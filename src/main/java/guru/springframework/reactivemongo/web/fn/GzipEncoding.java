@@ -0,0 +1,130 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip content coding for bodies written by the handlers themselves rather than by the server.
+ */
+public final class GzipEncoding {
+
+    public static final String GZIP = "gzip";
+
+    private GzipEncoding() {
+    }
+
+    /**
+     * @return whether gzip is among the accepted codings, and not refused with {@code q=0}
+     */
+    public static boolean acceptsGzip(ServerRequest serverRequest) {
+        return serverRequest.headers().header(HttpHeaders.ACCEPT_ENCODING).stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(coding -> coding.replace(" ", "").toLowerCase().split(";"))
+            .anyMatch(coding -> coding[0].equals(GZIP)
+                && Arrays.stream(coding).skip(1).noneMatch(parameter -> parameter.matches("q=0(\\.0*)?")));
+    }
+
+    /**
+     * Compresses a body as one gzip stream. Each buffer is flushed through on its own, so the
+     * compressed body streams out as the original does; the buffers it was given are released.
+     */
+    public static Flux<DataBuffer> gzip(Flux<DataBuffer> buffers, DataBufferFactory dataBufferFactory) {
+        return Flux.using(GzipStream::new,
+            gzipStream -> buffers
+                .map(buffer -> gzipStream.deflate(buffer, dataBufferFactory))
+                .concatWith(Mono.fromSupplier(() -> gzipStream.finish(dataBufferFactory))),
+            GzipStream::close);
+    }
+
+    /**
+     * A gzip stream whose output goes to a new buffer for each input buffer.
+     */
+    private static final class GzipStream {
+
+        private final Target target = new Target();
+        private GZIPOutputStream gzipOutputStream;
+
+        DataBuffer deflate(DataBuffer buffer, DataBufferFactory dataBufferFactory) {
+            DataBuffer deflated = dataBufferFactory.allocateBuffer(buffer.readableByteCount() / 4 + 64);
+            try {
+                target.out = deflated.asOutputStream();
+                buffer.asInputStream().transferTo(gzipOutputStream());
+                gzipOutputStream.flush();
+                return deflated;
+            } catch (IOException e) {
+                DataBufferUtils.release(deflated);
+                throw new UncheckedIOException(e);
+            } finally {
+                target.out = OutputStream.nullOutputStream();
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        DataBuffer finish(DataBufferFactory dataBufferFactory) {
+            DataBuffer trailer = dataBufferFactory.allocateBuffer(64);
+            try {
+                target.out = trailer.asOutputStream();
+                gzipOutputStream().finish();
+                return trailer;
+            } catch (IOException e) {
+                DataBufferUtils.release(trailer);
+                throw new UncheckedIOException(e);
+            } finally {
+                target.out = OutputStream.nullOutputStream();
+            }
+        }
+
+        /**
+         * Created on first use, so the gzip header goes to the first buffer.
+         */
+        private GZIPOutputStream gzipOutputStream() throws IOException {
+            if (gzipOutputStream == null) {
+                gzipOutputStream = new GZIPOutputStream(target, true);
+            }
+            return gzipOutputStream;
+        }
+
+        /**
+         * Ends the deflater, discarding whatever a cancelled or failed body had not written yet.
+         */
+        void close() {
+            if (gzipOutputStream == null) {
+                return;
+            }
+            try {
+                gzipOutputStream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private static final class Target extends OutputStream {
+
+        private OutputStream out = OutputStream.nullOutputStream();
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.codecs.CsvTranscoder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+/**
+ * Reads an import request body as records, one per NDJSON line or CSV row after the header. Lines
+ * are decoded from the body buffers as they arrive, so the body is never held in memory whole and
+ * is read only as fast as records are consumed. A record that cannot be read is kept with its
+ * error, so it can be reported rather than failing the import.
+ */
+public final class ImportRecords {
+
+    public static final MediaType[] ALL = {APPLICATION_NDJSON, Exports.TEXT_CSV};
+
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes(List.of("\n"), true);
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private ImportRecords() {
+    }
+
+    /**
+     * @param value the record, null when it could not be read
+     * @param error why the record could not be read
+     */
+    public record ImportRecord<T>(T value, String error) {
+    }
+
+    public static <T> Flux<ImportRecord<T>> read(ServerRequest serverRequest, Class<T> type, ObjectMapper objectMapper) {
+        MediaType contentType = serverRequest.headers().contentType().orElse(APPLICATION_NDJSON);
+        Flux<String> lines = LINE_DECODER.decode(serverRequest.body(BodyExtractors.toDataBuffers()), STRING_TYPE,
+                contentType, null)
+            .map(line -> line.endsWith("\r") ? line.substring(0, line.length() - 1) : line)
+            .filter(line -> !line.isBlank());
+
+        if (!Exports.TEXT_CSV.equalsTypeAndSubtype(contentType)) {
+            return lines.map(line -> read(line, value -> objectMapper.readValue(value, type)));
+        }
+        return lines.switchOnFirst((first, rows) -> {
+            if (!first.hasValue()) {
+                return rows.map(line -> new ImportRecord<>(null, "Missing header"));
+            }
+            List<String> header = CsvTranscoder.readFields(first.get());
+            return rows.skip(1).map(line ->
+                read(line, value -> objectMapper.convertValue(CsvTranscoder.readRow(header, value), type)));
+        });
+    }
+
+    private static <T> ImportRecord<T> read(String line, Reader<T> reader) {
+        try {
+            return new ImportRecord<>(reader.read(line), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRecord<>(null, e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ImportRecord<>(null, e.getCause() instanceof JsonProcessingException cause
+                ? cause.getOriginalMessage()
+                : e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        T read(String line) throws JsonProcessingException;
+
+    }
+
+}
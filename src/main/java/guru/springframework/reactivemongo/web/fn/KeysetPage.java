@@ -0,0 +1,129 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.cache.CachedBody;
+import guru.springframework.reactivemongo.cache.ResponseCache;
+import guru.springframework.reactivemongo.codecs.JsonTranscoder;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Query parameters and response header for keyset (cursor) pagination. The cursor is an opaque
+ * token wrapping the sort key of the last element of the previous page.
+ */
+public final class KeysetPage {
+
+    public static final String LIMIT = "limit";
+    public static final String AFTER = "after";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private KeysetPage() {
+    }
+
+    public static int limit(ServerRequest serverRequest) {
+        int limit;
+        try {
+            limit = serverRequest.queryParam(LIMIT).map(Integer::parseInt).orElse(DEFAULT_LIMIT);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid limit");
+        }
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ServerWebInputException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    public static String after(ServerRequest serverRequest) {
+        String after = serverRequest.queryParam(AFTER).map(KeysetPage::decode).orElse(null);
+
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new ServerWebInputException("Invalid cursor");
+        }
+        return after;
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Collects one page and adds the next cursor header when the page is full, so a client keeps
+     * following the header until it is absent.
+     *
+     * @param writer turns an element into what is written to the body
+     */
+    public static <T> Mono<ServerResponse> ok(Flux<T> page, int limit, Function<T, String> keyExtractor,
+                                              Function<T, ?> writer, MediaType contentType) {
+        return page.collectList()
+            .flatMap(elements -> ServerResponse.ok()
+                .contentType(contentType)
+                .headers(httpHeaders -> {
+                    if (elements.size() == limit) {
+                        httpHeaders.add(NEXT_CURSOR_HEADER, encode(keyExtractor.apply(last(elements))));
+                    }
+                })
+                .bodyValue(elements.stream().map(writer).toList()));
+    }
+
+    /**
+     * Same as {@link #ok(Flux, int, Function, Function, MediaType)} for raw documents, which are transcoded
+     * to JSON straight into the response buffer.
+     */
+    public static Mono<ServerResponse> ok(Flux<RawBsonDocument> page, int limit, JsonTranscoder jsonTranscoder,
+                                          Collection<String> fields, Set<String> decimalFields) {
+        return page.collectList()
+            .flatMap(documents -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(httpHeaders -> {
+                    if (documents.size() == limit) {
+                        httpHeaders.add(NEXT_CURSOR_HEADER, encode(JsonTranscoder.id(last(documents))));
+                    }
+                })
+                .body((outputMessage, context) -> outputMessage.writeWith(Mono.fromCallable(() ->
+                    jsonTranscoder.writeArray(documents, fields, decimalFields, outputMessage.bufferFactory())))));
+    }
+
+    /**
+     * Same as {@link #ok(Flux, int, JsonTranscoder, Collection, Set)}, as a body to keep in the
+     * response cache.
+     */
+    public static Mono<CachedBody> cachedBody(Flux<RawBsonDocument> page, int limit, JsonTranscoder jsonTranscoder,
+                                              Collection<String> fields, Set<String> decimalFields,
+                                              ResponseCache responseCache) {
+        return page.collectList()
+            .map(documents -> responseCache.body(jsonTranscoder.writeArray(documents, fields, decimalFields),
+                documents.size() == limit
+                    ? Map.of(NEXT_CURSOR_HEADER, encode(JsonTranscoder.id(last(documents))))
+                    : Map.of()));
+    }
+
+    private static <T> T last(List<T> elements) {
+        return elements.get(elements.size() - 1);
+    }
+
+}
@@ -0,0 +1,95 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.NotAcceptableStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Media types single objects and pages are read and written in: JSON, plus the binary CBOR,
+ * Smile and protobuf encodings of the same DTOs. Protobuf only covers whole single objects, so
+ * pages and objects trimmed to selected fields are offered in {@link #LISTS} only. Responses name the negotiated type explicitly, otherwise
+ * the first writer able to handle the body would win regardless of what the client accepts.
+ */
+public final class ObjectMediaTypes {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public static final MediaType[] ALL = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_PROTOBUF};
+    public static final MediaType[] LISTS = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE};
+
+    private ObjectMediaTypes() {
+    }
+
+    /**
+     * @return the most preferred of the supported types the client accepts, JSON when it states nothing
+     */
+    public static MediaType negotiate(ServerRequest serverRequest, MediaType... supported) {
+        return match(serverRequest, supported).orElse(APPLICATION_JSON);
+    }
+
+    private static Optional<MediaType> match(ServerRequest serverRequest, MediaType... supported) {
+        List<MediaType> accepted = new ArrayList<>(serverRequest.headers().accept());
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        for (MediaType mediaType : accepted) {
+            for (MediaType candidate : supported) {
+                if (mediaType.includes(candidate)) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return a 200 response in the negotiated type for a single object
+     */
+    public static ServerResponse.BodyBuilder ok(ServerRequest serverRequest) {
+        return ServerResponse.ok().contentType(negotiate(serverRequest, ALL));
+    }
+
+    /**
+     * Same as {@link #ok(ServerRequest)} for an object written through a field selection. Once
+     * fields are selected it is a map protobuf has no message for, so a client accepting protobuf
+     * but none of the {@link #LISTS} types gets a 406.
+     */
+    public static ServerResponse.BodyBuilder ok(ServerRequest serverRequest, FieldSelection<?> fields) {
+        if (fields.names().isEmpty()) {
+            return ok(serverRequest);
+        }
+
+        MediaType contentType = match(serverRequest, LISTS).orElseGet(() -> {
+            if (match(serverRequest, APPLICATION_PROTOBUF).isPresent()) {
+                throw new NotAcceptableStatusException(List.of(LISTS));
+            }
+            return APPLICATION_JSON;
+        });
+        return ServerResponse.ok().contentType(contentType);
+    }
+
+    /**
+     * Writes elements as a list: streamed into a JSON array, or collected first for the binary
+     * encodings, which cannot write an array element by element.
+     */
+    public static Mono<ServerResponse> ok(ServerRequest serverRequest, Flux<Object> elements) {
+        MediaType contentType = negotiate(serverRequest, LISTS);
+
+        if (APPLICATION_JSON.equals(contentType)) {
+            return ServerResponse.ok().contentType(contentType).body(elements, Object.class);
+        }
+        return elements.collectList().flatMap(list -> ServerResponse.ok().contentType(contentType).bodyValue(list));
+    }
+
+}
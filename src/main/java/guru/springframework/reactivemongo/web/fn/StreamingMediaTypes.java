@@ -0,0 +1,26 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+/**
+ * Media types served element by element as documents come off the Mongo cursor.
+ */
+public final class StreamingMediaTypes {
+
+    public static final MediaType[] ALL = {APPLICATION_NDJSON, TEXT_EVENT_STREAM};
+
+    private StreamingMediaTypes() {
+    }
+
+    public static MediaType negotiate(ServerRequest serverRequest) {
+        boolean eventStream = serverRequest.headers().accept().stream()
+            .anyMatch(TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+
+        return eventStream ? TEXT_EVENT_STREAM : APPLICATION_NDJSON;
+    }
+
+}
@@ -0,0 +1,99 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.config.SeedProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.services.BeerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SeedingEngineTest {
+
+    @Autowired
+    SeedingEngine seedingEngine;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSeedBeersFromCsv() throws Exception {
+        String style = "Seeded Csv " + System.nanoTime();
+        Path file = Files.writeString(tempDir.resolve("beers.csv"), "beerName,beerStyle,upc,quantityOnHand,price\r\n"
+            + "\"Galaxy, Dry Hopped\"," + style + ",111,12,9.99\r\n"
+            + "\"The \"\"Big\"\" One\"," + style + ",222,,\r\n");
+
+        SeedProperties seedProperties = fileSource(file);
+
+        Long seeded = seedingEngine.insert(Beer.class, seedingEngine.beers(seedProperties), seedProperties).block();
+
+        List<BeerDTO> beers = beerService.findAllByBeerStyle(style).collectList().block();
+        assertThat(seeded).isEqualTo(2);
+        assertThat(beers).extracting(BeerDTO::getBeerName).containsExactlyInAnyOrder("Galaxy, Dry Hopped", "The \"Big\" One");
+        assertThat(beers).filteredOn(beerDTO -> "111".equals(beerDTO.getUpc())).singleElement()
+            .satisfies(beerDTO -> {
+                assertThat(beerDTO.getPrice()).isEqualByComparingTo(new BigDecimal("9.99"));
+                assertThat(beerDTO.getQuantityOnHand()).isEqualTo(12);
+                assertThat(beerDTO.getCreatedDate()).isNotNull();
+            });
+    }
+
+    @Test
+    void testSeedBeersFromNdjsonInBatches() throws Exception {
+        String style = "Seeded Ndjson " + System.nanoTime();
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            lines.append("{\"beerName\":\"Seeded ").append(i).append("\",\"beerStyle\":\"").append(style)
+                .append("\",\"price\":4.50}\n");
+        }
+        Path file = Files.writeString(tempDir.resolve("beers.ndjson"), lines);
+        SeedProperties seedProperties = fileSource(file);
+        seedProperties.setBatchSize(10);
+
+        Long seeded = seedingEngine.insert(Beer.class, seedingEngine.beers(seedProperties), seedProperties).block();
+
+        assertThat(seeded).isEqualTo(25);
+        assertThat(beerService.findAllByBeerStyle(style).count().block()).isEqualTo(25);
+    }
+
+    @Test
+    void testSeedSyntheticCustomers() {
+        SeedProperties seedProperties = new SeedProperties();
+        seedProperties.setCustomers(2500);
+        double before = seededCount("customer");
+
+        Long seeded = seedingEngine.insert(Customer.class, seedingEngine.customers(seedProperties), seedProperties).block();
+
+        assertThat(seeded).isEqualTo(2500);
+        assertThat(seededCount("customer") - before).isEqualTo(2500);
+    }
+
+    private double seededCount(String collection) {
+        return meterRegistry.counter(SeedingEngine.SEEDED_COUNTER, "collection", collection).count();
+    }
+
+    private static SeedProperties fileSource(Path beersFile) {
+        SeedProperties seedProperties = new SeedProperties();
+        seedProperties.setSource(SeedProperties.Source.FILE);
+        seedProperties.setBeersFile(beersFile);
+        return seedProperties;
+    }
+
+}
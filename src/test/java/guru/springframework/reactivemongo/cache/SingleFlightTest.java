@@ -0,0 +1,56 @@
+package guru.springframework.reactivemongo.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final NearCache<String, String> cache = new NearCache<>(10, Duration.ofHours(1), UnaryOperator.identity());
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(UnaryOperator.identity());
+
+    @Test
+    void testReadAfterWriteDoesNotJoinLookupStartedBeforeIt() {
+        Sinks.One<String> slowLoad = Sinks.one();
+        CompletableFuture<String> readBeforeWrite = read(slowLoad.asMono()).toFuture();
+
+        // The write: the value changes, then the key is forgotten and invalidated.
+        singleFlight.forget("key");
+        cache.invalidate("key");
+        CompletableFuture<String> readAfterWrite = read(Mono.just("new")).toFuture();
+        slowLoad.tryEmitValue("old");
+
+        assertThat(readBeforeWrite.join()).isEqualTo("old");
+        assertThat(readAfterWrite.join()).isEqualTo("new");
+        assertThat(cache.getNativeCache().getIfPresent("key")).isNotEqualTo("old");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void testForgottenLookupLeavesNewerOneInFlight() {
+        Sinks.One<String> firstLoad = Sinks.one();
+        Sinks.One<String> secondLoad = Sinks.one();
+        CompletableFuture<String> first = singleFlight.mono("key", key -> firstLoad.asMono()).toFuture();
+        singleFlight.forget("key");
+        CompletableFuture<String> second = singleFlight.mono("key", key -> secondLoad.asMono()).toFuture();
+
+        firstLoad.tryEmitValue("first");
+        CompletableFuture<String> joined = singleFlight.mono("key", key -> Mono.just("third")).toFuture();
+        secondLoad.tryEmitValue("second");
+
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(second.join()).isEqualTo("second");
+        assertThat(joined.join()).isEqualTo("second");
+    }
+
+    private Mono<String> read(Mono<String> load) {
+        return cache.get("key", key -> singleFlight.mono(key, k -> load));
+    }
+
+}
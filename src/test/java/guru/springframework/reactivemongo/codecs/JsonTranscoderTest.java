@@ -0,0 +1,42 @@
+package guru.springframework.reactivemongo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonTranscoderTest {
+
+    private final JsonTranscoder jsonTranscoder = new JsonTranscoder(new ObjectMapper());
+
+    private final ObjectId id = new ObjectId();
+    private final RawBsonDocument document = new RawBsonDocument(new Document("_id", id)
+        .append("beerName", "Mango Bobs")
+        .append("price", "12.99")
+        .append("_class", "guru.springframework.reactivemongo.domain.Beer"), new DocumentCodec());
+
+    @Test
+    void testWritesAllFieldsWithNullsForAbsentOnes() {
+        assertThat(write(List.of("id", "beerName", "upc", "price")))
+            .isEqualTo("[{\"id\":\"" + id.toHexString() + "\",\"beerName\":\"Mango Bobs\",\"price\":12.99,\"upc\":null}]");
+    }
+
+    @Test
+    void testWritesOnlySelectedFields() {
+        assertThat(write(List.of("beerName", "upc")))
+            .isEqualTo("[{\"beerName\":\"Mango Bobs\",\"upc\":null}]");
+    }
+
+    private String write(List<String> fields) {
+        return new String(jsonTranscoder.writeArray(List.of(document), fields, Set.of("price")), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,38 @@
+package guru.springframework.reactivemongo.config;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MongoIndexReconcilerTest {
+
+    @Autowired
+    MongoIndexReconciler mongoIndexReconciler;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    void testReconcileCreatesDeclaredIndexes() {
+        Long drift = mongoIndexReconciler.reconcile().block();
+
+        List<String> beerIndexes = reactiveMongoTemplate.indexOps(Beer.class).getIndexInfo()
+            .map(IndexInfo::getName).collectList().block();
+        List<String> customerIndexes = reactiveMongoTemplate.indexOps(Customer.class).getIndexInfo()
+            .map(IndexInfo::getName).collectList().block();
+
+        assertThat(drift).isZero();
+        assertThat(beerIndexes).contains("beerName", "upc", "lastModifiedDate", "beerStyle_price");
+        assertThat(customerIndexes).contains("customerName", "customerName_ci");
+    }
+
+}
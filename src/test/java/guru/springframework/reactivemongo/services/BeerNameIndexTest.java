@@ -0,0 +1,86 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.repositories.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class BeerNameIndexTest {
+
+    @Autowired
+    BeerNameIndex beerNameIndex;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    void testSuggestFollowsWrites() {
+        String prefix = "Suggest " + System.nanoTime();
+        BeerDTO amber = beerService.saveBeer(BeerServiceImplTest.getTestBeerDto().toBuilder().beerName(prefix + " Amber").build()).block();
+        beerService.saveBeer(BeerServiceImplTest.getTestBeerDto().toBuilder().beerName(prefix + " amber").build()).block();
+        BeerDTO bock = beerService.saveBeer(BeerServiceImplTest.getTestBeerDto().toBuilder().beerName(prefix + " Bock").build()).block();
+
+        assertThat(beerNameIndex.suggest(prefix.toUpperCase(), 10)).hasSize(2)
+            .allMatch(name -> name.startsWith(prefix)).last().isEqualTo(prefix + " Bock");
+        assertThat(beerNameIndex.suggest(prefix, 1)).hasSize(1);
+
+        beerService.patchBeer(bock.getId(), BeerDTO.builder().beerName(prefix + " Cider").build()).block();
+        beerService.deleteBeerById(amber.getId()).block();
+
+        assertThat(beerNameIndex.suggest(prefix, 10)).containsExactly(prefix + " amber", prefix + " Cider");
+    }
+
+    @Test
+    void testLoadIndexesBeersWrittenElsewhere() {
+        String name = "Loaded " + System.nanoTime();
+        beerRepository.save(Beer.builder().beerName(name).beerStyle("IPA").build()).block();
+        assertThat(beerNameIndex.suggest(name, 10)).isEmpty();
+
+        beerNameIndex.load().block();
+
+        assertThat(beerNameIndex.suggest(name, 10)).containsExactly(name);
+    }
+
+    @Test
+    void testWriteDuringOverlappingLoadsWins() {
+        ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+        Sinks.Many<Beer> firstRead = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.Many<Beer> secondRead = Sinks.many().unicast().onBackpressureBuffer();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Beer.class)))
+            .thenReturn(firstRead.asFlux(), secondRead.asFlux());
+        BeerNameIndex index = new BeerNameIndex(reactiveMongoTemplate);
+        Beer stale = Beer.builder().id("1").beerName("Old Name").build();
+
+        CompletableFuture<Long> firstLoad = index.load().toFuture();
+        CompletableFuture<Long> secondLoad = index.load().toFuture();
+        index.put("1", "New Name");
+        firstRead.tryEmitNext(stale);
+        firstRead.tryEmitComplete();
+        secondRead.tryEmitNext(stale);
+        secondRead.tryEmitComplete();
+
+        assertThat(firstLoad.join()).isEqualTo(1);
+        assertThat(secondLoad.join()).isEqualTo(1);
+        assertThat(index.suggest("new", 10)).containsExactly("New Name");
+        assertThat(index.suggest("old", 10)).isEmpty();
+    }
+
+}
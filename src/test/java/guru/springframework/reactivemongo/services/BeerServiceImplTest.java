@@ -1,20 +1,29 @@
 package guru.springframework.reactivemongo.services;
 
+import guru.springframework.reactivemongo.cache.NearCache;
 import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.exception.ConflictException;
 import guru.springframework.reactivemongo.exception.NotFoundException;
 import guru.springframework.reactivemongo.mappers.BeerMapper;
 import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.metrics.MongoCommandMetrics;
 import guru.springframework.reactivemongo.model.BeerDTO;
 import guru.springframework.reactivemongo.repositories.BeerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -34,6 +43,12 @@ public class BeerServiceImplTest {
     @Autowired
     BeerRepository beerRepository;
 
+    @Autowired
+    NearCache<String, BeerDTO> beerByIdCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     BeerDTO beerDTO;
 
     @BeforeEach
@@ -85,6 +100,55 @@ public class BeerServiceImplTest {
         assertThat(fetchedDto.getBeerName()).isEqualTo(newName);
     }
 
+    @Test
+    @DisplayName("Test Patch Beer Sets Only Given Fields")
+    void testPatchBeer() {
+        BeerDTO savedBeerDto = getSavedBeerDto();
+
+        BeerDTO patchedDto = beerService.patchBeer(savedBeerDto.getId(),
+            BeerDTO.builder().quantityOnHand(7).build()).block();
+
+        assertThat(patchedDto.getQuantityOnHand()).isEqualTo(7);
+        assertThat(patchedDto.getBeerName()).isEqualTo(savedBeerDto.getBeerName());
+        assertThat(patchedDto.getBeerStyle()).isEqualTo(savedBeerDto.getBeerStyle());
+        assertThat(patchedDto.getLastModifiedDate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test Get Beer By Id Served From Cache Until Updated")
+    void testGetBeerByIdCached() {
+        BeerDTO savedBeerDto = getSavedBeerDto();
+
+        BeerDTO firstRead = beerService.getBeerById(savedBeerDto.getId()).block();
+        firstRead.setBeerName("Mutated By Caller");
+        long hits = beerByIdCache.stats().hitCount();
+
+        BeerDTO secondRead = beerService.getBeerById(savedBeerDto.getId()).block();
+        assertThat(beerByIdCache.stats().hitCount()).isEqualTo(hits + 1);
+        assertThat(secondRead.getBeerName()).isEqualTo(savedBeerDto.getBeerName());
+
+        beerService.patchBeer(savedBeerDto.getId(), BeerDTO.builder().beerName("Patched Name").build()).block();
+
+        assertThat(beerService.getBeerById(savedBeerDto.getId()).block().getBeerName()).isEqualTo("Patched Name");
+    }
+
+    @Test
+    void testGetBeerByIdDoesNotCacheValueLoadedBeforeWrite() {
+        BeerDTO savedBeerDto = getSavedBeerDto();
+        Sinks.One<BeerDTO> slowLoad = Sinks.one();
+
+        beerByIdCache.invalidate(savedBeerDto.getId());
+        CompletableFuture<BeerDTO> staleRead = beerByIdCache.get(savedBeerDto.getId(), id -> slowLoad.asMono())
+            .toFuture();
+
+        beerService.patchBeer(savedBeerDto.getId(), BeerDTO.builder().beerName("Patched Name").build()).block();
+        slowLoad.tryEmitValue(savedBeerDto);
+
+        assertThat(staleRead.join().getBeerName()).isEqualTo(savedBeerDto.getBeerName());
+        assertThat(beerByIdCache.getNativeCache().getIfPresent(savedBeerDto.getId())).isNull();
+        assertThat(beerService.getBeerById(savedBeerDto.getId()).block().getBeerName()).isEqualTo("Patched Name");
+    }
+
     @Test
     @DisplayName("Test Update Using Reactive Streams")
     void testUpdateStreaming() {
@@ -131,7 +195,7 @@ public class BeerServiceImplTest {
                 atomicDto.set(dto);
             });
 
-        await().until(() -> !atomicDto.get().isEmpty());
+        await().until(() -> atomicDto.get() != null && !atomicDto.get().isEmpty());
         assertThat(atomicDto.get()).hasSizeGreaterThanOrEqualTo(3);
     }
 
@@ -145,6 +209,68 @@ public class BeerServiceImplTest {
 
     }
 
+    @Test
+    void testConcurrentReservationsNeverOversell() {
+        BeerDTO savedBeerDTO = getSavedBeerDto();
+
+        List<Boolean> reserved = Flux.range(0, 20)
+            .flatMap(i -> beerService.adjustInventory(savedBeerDTO.getId(), -1)
+                .map(beerDTO -> true)
+                .onErrorReturn(ConflictException.class, false))
+            .collectList()
+            .block();
+
+        assertThat(reserved).filteredOn(Boolean::booleanValue).hasSize(12);
+        assertThat(beerService.getBeerById(savedBeerDTO.getId()).block().getQuantityOnHand()).isZero();
+    }
+
+    @Test
+    void testReservingTheMinimumIntDoesNotOverflow() {
+        BeerDTO savedBeerDTO = getSavedBeerDto();
+
+        assertThrows(ConflictException.class,
+            () -> beerService.adjustInventory(savedBeerDTO.getId(), Integer.MIN_VALUE).block());
+        assertThat(beerService.getBeerById(savedBeerDTO.getId()).block().getQuantityOnHand())
+            .isEqualTo(savedBeerDTO.getQuantityOnHand());
+    }
+
+    @Test
+    void testConcurrentStyleLookupsShareOneQuery() {
+        String style = "Single Flight " + System.nanoTime();
+        beerService.saveBeer(getTestBeerDto().toBuilder().beerStyle(style).build()).block();
+        long findsBefore = countFinds();
+
+        List<BeerDTO> found = Flux.range(0, 50)
+            .flatMap(i -> beerService.findAllByBeerStyle(style, List.of()))
+            .collectList()
+            .block();
+
+        assertThat(found).hasSize(50);
+        assertThat(found.get(0)).isEqualTo(found.get(1)).isNotSameAs(found.get(1));
+        assertThat(countFinds() - findsBefore).isLessThan(50);
+    }
+
+    @Test
+    void testCodecReadsWhatTheConverterWrote() {
+        BeerDTO savedBeerDTO = beerService.saveBeer(getTestBeerDto().toBuilder()
+            .createdDate(LocalDateTime.of(2023, 6, 1, 12, 30))
+            .price(new BigDecimal("12.99"))
+            .build()).block();
+
+        BeerDTO listed = beerService.findAllByBeerStyle(savedBeerDTO.getBeerStyle(), List.of())
+            .filter(beerDTO -> beerDTO.getId().equals(savedBeerDTO.getId()))
+            .blockFirst();
+
+        assertThat(listed).isEqualTo(beerService.getBeerById(savedBeerDTO.getId()).block());
+        assertThat(listed.getPrice()).isEqualTo("12.99");
+        assertThat(listed.getCreatedDate()).isEqualTo(LocalDateTime.of(2023, 6, 1, 12, 30));
+    }
+
+    private long countFinds() {
+        return meterRegistry.find(MongoCommandMetrics.COMMAND_TIMER).tags("command", "find", "collection", "beer")
+            .timers().stream().mapToLong(Timer::count).sum();
+    }
+
     public BeerDTO getSavedBeerDto(){
         return beerService.saveBeer(getTestBeerDto()).block();
     }
@@ -0,0 +1,61 @@
+package guru.springframework.reactivemongo.services;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkWriteFailureTest {
+
+    @Test
+    void testOrderedWriteStopsAtTheFirstError() {
+        MongoBulkWriteException exception = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+            List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+            null, new ServerAddress(), Set.of());
+
+        BulkWriteFailure failure = BulkWriteFailure.of(new DuplicateKeyException("duplicate key", exception), 3)
+            .orElseThrow();
+
+        assertThat(failure.applied(0)).isTrue();
+        assertThat(failure.error(0)).isNull();
+        assertThat(failure.applied(1)).isFalse();
+        assertThat(failure.error(1)).isEqualTo("duplicate key");
+        assertThat(failure.applied(2)).isFalse();
+        assertThat(failure.error(2)).isEqualTo("Not written after an earlier error");
+    }
+
+    @Test
+    void testUnorderedWriteAppliesTheOthers() {
+        ObjectId upsertedId = new ObjectId();
+        MongoBulkWriteException exception = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(0, 1, 0, 1,
+                List.of(new BulkWriteUpsert(2, new BsonObjectId(upsertedId))), List.of()),
+            List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+            null, new ServerAddress(), Set.of());
+
+        BulkWriteFailure failure = BulkWriteFailure.of(exception, 3).orElseThrow();
+
+        assertThat(failure.applied(0)).isTrue();
+        assertThat(failure.applied(1)).isFalse();
+        assertThat(failure.applied(2)).isTrue();
+        assertThat(failure.upsertedIds()).containsEntry(2, upsertedId.toHexString());
+    }
+
+    @Test
+    void testOtherFailuresTellNothing() {
+        assertThat(BulkWriteFailure.of(new IllegalStateException("timed out"), 3)).isEmpty();
+    }
+
+}
@@ -1,24 +1,33 @@
 package guru.springframework.reactivemongo.services;
 
+import com.mongodb.event.CommandStartedEvent;
 import guru.springframework.reactivemongo.domain.Customer;
 import guru.springframework.reactivemongo.exception.NotFoundException;
 import guru.springframework.reactivemongo.mappers.CustomerMapper;
 import guru.springframework.reactivemongo.mappers.CustomerMapperImpl;
+import guru.springframework.reactivemongo.metrics.MongoCommandMetrics;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import guru.springframework.reactivemongo.repositories.CustomerRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 @SpringBootTest
 public class CustomerServiceImplTest {
@@ -32,6 +41,9 @@ public class CustomerServiceImplTest {
     @Autowired
     CustomerRepository customerRepository;
 
+    @SpyBean
+    MongoCommandMetrics mongoCommandMetrics;
+
     CustomerDTO customerDTO;
 
     @BeforeEach
@@ -116,6 +128,27 @@ public class CustomerServiceImplTest {
         assertThat(atomicDto.get().getCustomerName()).isEqualTo("Sherlock Holmes");
     }
 
+    @Test
+    void testSearchCustomersSendsNameCollationAndIndex() {
+        // The in-memory test server ignores collations, so check the command the driver sends.
+        List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            CommandStartedEvent event = invocation.getArgument(0);
+            if (event.getCommandName().equals("find")
+                && event.getCommand().getString("find").getValue().equals("customer")) {
+                finds.add(event.getCommand().clone());
+            }
+            return invocation.callRealMethod();
+        }).when(mongoCommandMetrics).commandStarted(any());
+
+        customerService.searchCustomers("sher", null, null, 10, List.of()).collectList().block();
+
+        assertThat(finds).singleElement().satisfies(find -> {
+            assertThat(find.getDocument("collation"))
+                .isEqualTo(BsonDocument.parse("{locale: 'en', strength: 2}"));
+            assertThat(find.get("hint")).isEqualTo(new BsonString(Customer.NAME_INDEX));
+        });
+    }
 
     @Test
     void testDeleteCustomer() {
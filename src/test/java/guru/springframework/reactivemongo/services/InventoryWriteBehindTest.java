@@ -0,0 +1,89 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class InventoryWriteBehindTest {
+
+    @Autowired
+    InventoryWriteBehind inventoryWriteBehind;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    void testDeltasCoalesceIntoOneWrite() {
+        BeerDTO beerDTO = beerService.saveBeer(BeerServiceImplTest.getTestBeerDto()).block();
+        double writesBefore = meterRegistry.get(InventoryWriteBehind.WRITES).functionCounter().count();
+
+        for (int i = 0; i < 10; i++) {
+            inventoryWriteBehind.add(beerDTO.getId(), 3);
+        }
+        inventoryWriteBehind.add(beerDTO.getId(), -5);
+
+        assertThat(inventoryWriteBehind.flush().block()).isEqualTo(1);
+        assertThat(meterRegistry.get(InventoryWriteBehind.WRITES).functionCounter().count()).isEqualTo(writesBefore + 1);
+        assertThat(beerService.getBeerById(beerDTO.getId()).block().getQuantityOnHand())
+            .isEqualTo(beerDTO.getQuantityOnHand() + 25);
+        assertThat(inventoryWriteBehind.flush().block()).isZero();
+    }
+
+    @Test
+    void testFlushEvictsBeerByName() {
+        BeerDTO testBeerDTO = BeerServiceImplTest.getTestBeerDto();
+        testBeerDTO.setBeerName("Write Behind " + UUID.randomUUID());
+        BeerDTO beerDTO = beerService.saveBeer(testBeerDTO).block();
+        beerService.findFirstByBeerName(beerDTO.getBeerName()).block();
+
+        inventoryWriteBehind.add(beerDTO.getId(), 7);
+        inventoryWriteBehind.flush().block();
+
+        assertThat(beerService.findFirstByBeerName(beerDTO.getBeerName()).block().getQuantityOnHand())
+            .isEqualTo(beerDTO.getQuantityOnHand() + 7);
+    }
+
+    @Test
+    void testFailedFlushRetriesOnlyTheUpdatesThatFailed() {
+        BeerDTO beerDTO = beerService.saveBeer(BeerServiceImplTest.getTestBeerDto()).block();
+        BeerDTO brokenBeerDTO = beerService.saveBeer(BeerServiceImplTest.getTestBeerDto()).block();
+        // $inc fails on a non-numeric field.
+        reactiveMongoTemplate.updateFirst(Query.query(Criteria.where(BeerServiceImpl.ID).is(brokenBeerDTO.getId())),
+            new Update().set("quantityOnHand", "none"), Beer.class).block();
+
+        inventoryWriteBehind.add(beerDTO.getId(), 7);
+        inventoryWriteBehind.add(brokenBeerDTO.getId(), 3);
+
+        assertThatThrownBy(() -> inventoryWriteBehind.flush().block()).isInstanceOf(DataAccessException.class);
+        // Only the failed update is pending again.
+        assertThatThrownBy(() -> inventoryWriteBehind.flush().block()).isInstanceOf(DataAccessException.class);
+
+        assertThat(beerService.getBeerById(beerDTO.getId()).block().getQuantityOnHand())
+            .isEqualTo(beerDTO.getQuantityOnHand() + 7);
+
+        reactiveMongoTemplate.remove(Query.query(Criteria.where(BeerServiceImpl.ID).is(brokenBeerDTO.getId())), Beer.class)
+            .block();
+        inventoryWriteBehind.flush().block();
+    }
+
+}
@@ -0,0 +1,53 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.MapBindingResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchProcessorTest {
+
+    @Test
+    void testChunksSharingAKeyAreWrittenOneAfterTheOther() {
+        Set<String> inFlight = ConcurrentHashMap.newKeySet();
+        List<String> overlaps = new CopyOnWriteArrayList<>();
+        List<String> written = new CopyOnWriteArrayList<>();
+
+        List<BatchItemResultDTO> results = BatchProcessor.process(
+                Flux.just("a0", "b1", "a2", "c3"), 1, 4,
+                item -> new MapBindingResult(new HashMap<>(), "item"),
+                item -> item.charAt(0),
+                items -> {
+                    String item = items.get(0);
+                    String key = item.substring(0, 1);
+                    if (!inFlight.add(key)) {
+                        overlaps.add(item);
+                    }
+                    return Mono.delay(Duration.ofMillis(item.equals("a0") ? 200 : 10))
+                        .doOnNext(tick -> {
+                            written.add(item);
+                            inFlight.remove(key);
+                        })
+                        .thenMany(Flux.just(BatchProcessor.result(0, BatchItemResultDTO.Status.UPDATED, item, null)));
+                })
+            .collectList()
+            .block();
+
+        assertThat(overlaps).isEmpty();
+        assertThat(written.indexOf("a0")).isLessThan(written.indexOf("a2"));
+        assertThat(written.indexOf("b1")).isLessThan(written.indexOf("a0"));
+        assertThat(results).extracting(BatchItemResultDTO::getId).containsExactly("a0", "b1", "a2", "c3");
+        assertThat(results).extracting(BatchItemResultDTO::getIndex).containsExactly(0L, 1L, 2L, 3L);
+    }
+
+}
@@ -1,8 +1,15 @@
 package guru.springframework.reactivemongo.web.fn;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.cache.ResponseCache;
 import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.metrics.MetricsAspect;
+import guru.springframework.reactivemongo.model.BatchItemResultDTO;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
 import guru.springframework.reactivemongo.services.BeerServiceImplTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -10,13 +17,26 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockOAuth2Login;
 
@@ -28,6 +48,12 @@ class BeerEndpointTest {
     @Autowired
     WebTestClient webTestClient;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ResponseCache beerListResponseCache;
+
     @Test
     void testPatchIdNotFound() {
         webTestClient
@@ -76,6 +102,44 @@ class BeerEndpointTest {
             .isNoContent();
     }
 
+    @Test
+    @Order(999)
+    void testDeleteBeers() {
+        BeerDTO first = getSavedTestBeer();
+        BeerDTO second = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_PATH)
+            .body(Mono.just(BeerServiceImplTest.getTestBeer2()), BeerDTO.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .returnResult(BeerDTO.class).getResponseBody().blockFirst();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .delete().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(BeerHandler.BEER_IDS, first.getId() + "," + second.getId()).build().toUri())
+            .exchange()
+            .expectStatus().isNoContent();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, second.getId())
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testDeleteBeersNotFound() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .delete().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(BeerHandler.BEER_IDS, "999").build().toUri())
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
     @Test
     @Order(4)
     void testUpdateBeerBadRequest() {
@@ -148,6 +212,51 @@ class BeerEndpointTest {
 
     }
 
+    @Test
+    void testCreateBeersBatch() {
+        Beer invalidBeer = BeerServiceImplTest.getTestBeer();
+        invalidBeer.setBeerName("");
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_BATCH_PATH)
+            .body(Mono.just(List.of(BeerServiceImplTest.getTestBeer(), invalidBeer, BeerServiceImplTest.getTestBeer2())), List.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.size()").value(equalTo(3))
+            .jsonPath("$[0].status").isEqualTo("CREATED")
+            .jsonPath("$[0].id").isNotEmpty()
+            .jsonPath("$[1].status").isEqualTo("INVALID")
+            .jsonPath("$[2].status").isEqualTo("CREATED");
+    }
+
+    @Test
+    void testCreateBeersBatchReportsTheItemsAFailedInsertWrote() {
+        String id = new ObjectId().toHexString();
+        Beer first = BeerServiceImplTest.getTestBeer();
+        first.setId(id);
+        Beer duplicate = BeerServiceImplTest.getTestBeer();
+        duplicate.setId(id);
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_BATCH_PATH)
+            .body(Mono.just(List.of(first, BeerServiceImplTest.getTestBeer2(), duplicate)), List.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.size()").value(equalTo(3))
+            .jsonPath("$[0].status").isEqualTo("CREATED")
+            .jsonPath("$[0].id").isEqualTo(id)
+            .jsonPath("$[1].status").isEqualTo("CREATED")
+            .jsonPath("$[1].id").isNotEmpty()
+            .jsonPath("$[2].status").isEqualTo("FAILED")
+            .jsonPath("$[2].error").value(containsString("duplicate key"));
+    }
+
     @Test
     void testGetByIdNotFound() {
         webTestClient
@@ -210,6 +319,561 @@ class BeerEndpointTest {
             .expectBody().jsonPath("$.size()", hasSize(greaterThan(1)));
     }
 
+    @Test
+    @Order(2)
+    void testListBeersPaged() {
+        getSavedTestBeer();
+        getSavedTestBeer();
+
+        FluxExchangeResult<BeerDTO> firstPage = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists(KeysetPage.NEXT_CURSOR_HEADER)
+            .returnResult(BeerDTO.class);
+
+        BeerDTO firstBeer = firstPage.getResponseBody().blockFirst();
+        String cursor = firstPage.getResponseHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER);
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1)
+                .queryParam(KeysetPage.AFTER, cursor).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.size()").value(equalTo(1))
+            .jsonPath("$[0].id").value(not(equalTo(firstBeer.getId())));
+    }
+
+    @Test
+    @Order(2)
+    void testStreamBeers() {
+        getSavedTestBeer();
+
+        BeerDTO streamed = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(BeerDTO.class)
+            .getResponseBody().blockFirst();
+
+        assertThat(streamed.getId()).isNotNull();
+    }
+
+    @Test
+    void testListBeersBadCursor() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.AFTER, "%%%").build().toUri())
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetByIdTimed() {
+        BeerDTO beerDTO = getSavedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, beerDTO.getId())
+            .exchange()
+            .expectStatus().isOk();
+
+        assertThat(meterRegistry.find(MetricsAspect.HANDLER_TIMER)
+            .tags("route", BeerRouterConfig.BEER_PATH_ID, "outcome", "SUCCESS").timer()).isNotNull();
+        assertThat(meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+            .tags("service", "BeerServiceImpl", "operation", "getBeerById").timer()).isNotNull();
+    }
+
+    @Test
+    @Order(2)
+    void testListBeersFields() {
+        getSavedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1)
+                .queryParam(FieldSelection.FIELDS, "id,beerName").build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$[0].id").exists()
+            .jsonPath("$[0].beerName").exists()
+            .jsonPath("$[0].price").doesNotExist()
+            .jsonPath("$[0].createdDate").doesNotExist();
+    }
+
+    @Test
+    @Order(2)
+    void testListBeersFieldsWithoutId() {
+        getSavedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1)
+                .queryParam(FieldSelection.FIELDS, "beerName").build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$[0].beerName").exists()
+            .jsonPath("$[0].id").doesNotExist();
+    }
+
+    @Test
+    @Order(2)
+    void testListBeersMatchesGetById() {
+        Map<String, Object> listed = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(new ParameterizedTypeReference<Map<String, Object>>() {
+            })
+            .returnResult().getResponseBody().get(0);
+
+        Map<String, Object> found = new HashMap<>(webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, listed.get("id"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+            })
+            .returnResult().getResponseBody());
+        found.values().removeIf(Objects::isNull);
+
+        assertThat(listed).isEqualTo(found);
+    }
+
+    @Test
+    void testListBeersUnknownField() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(FieldSelection.FIELDS, "beerName,secret").build().toUri())
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testBeerChangesBadResumeToken() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_CHANGES_PATH)
+                .queryParam(ChangeEvents.RESUME_AFTER, "not-a-token").build().toUri())
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testAdjustInventory() {
+        BeerDTO beerDTO = getCreatedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(BeerRouterConfig.BEER_INVENTORY_PATH, beerDTO.getId())
+            .body(Mono.just(InventoryAdjustmentDTO.builder().delta(-5).build()), InventoryAdjustmentDTO.class)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.quantityOnHand").isEqualTo(beerDTO.getQuantityOnHand() - 5);
+    }
+
+    @Test
+    void testAdjustInventoryInsufficient() {
+        BeerDTO beerDTO = getCreatedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(BeerRouterConfig.BEER_INVENTORY_PATH, beerDTO.getId())
+            .body(Mono.just(InventoryAdjustmentDTO.builder().delta(-beerDTO.getQuantityOnHand() - 1).build()),
+                InventoryAdjustmentDTO.class)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void testAdjustInventoryNotFound() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(BeerRouterConfig.BEER_INVENTORY_PATH, 999)
+            .body(Mono.just(InventoryAdjustmentDTO.builder().delta(1).build()), InventoryAdjustmentDTO.class)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testAdjustInventoryZeroDelta() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(BeerRouterConfig.BEER_INVENTORY_PATH, 999)
+            .body(Mono.just(InventoryAdjustmentDTO.builder().delta(0).build()), InventoryAdjustmentDTO.class)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetByIdAsCbor() {
+        BeerDTO beerDTO = getCreatedTestBeer();
+
+        BeerDTO fetched = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, beerDTO.getId())
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+            .expectBody(BeerDTO.class).returnResult().getResponseBody();
+
+        assertThat(fetched).isEqualTo(beerDTO);
+    }
+
+    @Test
+    void testCreateAndGetBeerAsProtobuf() {
+        BeerDTO created = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_PATH)
+            .contentType(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .bodyValue(BeerServiceImplTest.getTestBeerDto())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .expectBody(BeerDTO.class).returnResult().getResponseBody();
+
+        assertThat(created.getBeerName()).isEqualTo("Space Dust");
+        assertThat(created.getPrice()).isEqualByComparingTo("10");
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, created.getId())
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(BeerDTO.class).isEqualTo(created);
+    }
+
+    @Test
+    void testGetByIdFieldsAsProtobufNotAcceptable() {
+        BeerDTO beerDTO = getSavedTestBeer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH_ID)
+                .queryParam(FieldSelection.FIELDS, "beerName").buildAndExpand(beerDTO.getId()).toUri())
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH_ID)
+                .queryParam(FieldSelection.FIELDS, "beerName").buildAndExpand(beerDTO.getId()).toUri())
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF, MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody().jsonPath("$.beerName").isEqualTo(beerDTO.getBeerName());
+    }
+
+    @Test
+    void testListBeersAsProtobufNotOffered() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH)
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testListBeersAsSmile() {
+        getCreatedTestBeer();
+
+        List<BeerDTO> beers = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder
+                .fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam(KeysetPage.LIMIT, 2).build().toUri())
+            .accept(ObjectMediaTypes.APPLICATION_SMILE)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(ObjectMediaTypes.APPLICATION_SMILE)
+            .expectHeader().exists(KeysetPage.NEXT_CURSOR_HEADER)
+            .expectBody(new ParameterizedTypeReference<List<BeerDTO>>() {}).returnResult().getResponseBody();
+
+        assertThat(beers).hasSize(2).allSatisfy(beer -> assertThat(beer.getId()).isNotNull());
+    }
+
+    @Test
+    void testListBeersByStyleCachedUntilWrite() {
+        String beerStyle = "Cached " + System.nanoTime();
+        BeerDTO beerDTO = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_PATH)
+            .body(Mono.just(BeerServiceImplTest.getTestBeerDto().toBuilder().beerStyle(beerStyle).build()), BeerDTO.class)
+            .exchange()
+            .returnResult(BeerDTO.class).getResponseBody().blockFirst();
+        URI byStyle = UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_PATH)
+            .queryParam("beerStyle", beerStyle).build().toUri();
+
+        byte[] firstBody = getBody(byStyle);
+        long hits = beerListResponseCache.stats().hitCount();
+
+        assertThat(getBody(byStyle)).isEqualTo(firstBody);
+        assertThat(beerListResponseCache.stats().hitCount()).isEqualTo(hits + 1);
+
+        beerDTO.setBeerName("Renamed");
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .patch().uri(BeerRouterConfig.BEER_PATH_ID, beerDTO.getId())
+            .body(Mono.just(beerDTO), BeerDTO.class)
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(byStyle)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$[0].beerName").isEqualTo("Renamed");
+    }
+
+    @Test
+    void testListBeersGzipped() throws IOException {
+        getCreatedTestBeer();
+        getCreatedTestBeer();
+        URI page = UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_PATH)
+            .queryParam(KeysetPage.LIMIT, 10).build().toUri();
+
+        byte[] gzippedBody = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(page)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .expectHeader().exists(KeysetPage.NEXT_CURSOR_HEADER)
+            .expectBody().returnResult().getResponseBody();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(getBody(page));
+        }
+    }
+
+    @Test
+    void testExportBeersResumesAfterId() throws IOException {
+        BeerDTO first = getCreatedTestBeer();
+        BeerDTO second = getCreatedTestBeer();
+
+        byte[] body = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_EXPORT_PATH)
+                .queryParam(Exports.AFTER_ID, first.getId()).build().toUri())
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody().returnResult().getResponseBody();
+
+        List<BeerDTO> exported = new ObjectMapper().findAndRegisterModules()
+            .readerFor(BeerDTO.class).<BeerDTO>readValues(body).readAll();
+        assertThat(exported).isNotEmpty();
+        assertThat(exported.get(0)).isEqualTo(second);
+        assertThat(exported).extracting(BeerDTO::getId).doesNotContain(first.getId());
+    }
+
+    @Test
+    void testExportBeersAsGzippedCsv() throws IOException {
+        BeerDTO first = getCreatedTestBeer();
+        BeerDTO second = getCreatedTestBeer();
+
+        byte[] gzippedBody = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_EXPORT_PATH)
+                .queryParam(Exports.AFTER_ID, first.getId()).build().toUri())
+            .accept(Exports.TEXT_CSV)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(Exports.TEXT_CSV)
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .expectBody().returnResult().getResponseBody();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+            List<String> lines = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines.get(0)).isEqualTo("id,beerName,beerStyle,upc,quantityOnHand,price,createdDate,lastModifiedDate");
+            assertThat(lines.get(1)).startsWith(second.getId() + ",Space Dust,IPA,123213,12,10,");
+        }
+    }
+
+    @Test
+    void testExportBeersBadAfterId() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_EXPORT_PATH + "?afterId=nope")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testImportBeersUpsertsByUpc() {
+        String upc = Long.toString(System.nanoTime());
+        BeerDTO existing = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_PATH)
+            .body(Mono.just(BeerServiceImplTest.getTestBeerDto().toBuilder().upc(upc + "1").build()), BeerDTO.class)
+            .exchange()
+            .returnResult(BeerDTO.class).getResponseBody().blockFirst();
+        String body = """
+            {"beerName":"Imported Dust","beerStyle":"IPA","upc":"%s1","quantityOnHand":3,"price":7.25}
+            {"beerName":"Imported New","beerStyle":"IPA","upc":"%s2","quantityOnHand":9,"price":5}
+            {"beerName":
+            {"beerStyle":"IPA","upc":"%s3"}
+            """.formatted(upc, upc, upc);
+
+        List<BatchItemResultDTO> report = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_IMPORT_PATH + "?report=all")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(BatchItemResultDTO.class)
+            .getResponseBody().collectList().block();
+
+        assertThat(report).extracting(BatchItemResultDTO::getIndex).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(report).extracting(BatchItemResultDTO::getStatus).containsExactly(
+            BatchItemResultDTO.Status.UPDATED, BatchItemResultDTO.Status.CREATED,
+            BatchItemResultDTO.Status.INVALID, BatchItemResultDTO.Status.INVALID);
+        assertThat(report.get(3).getError()).contains("beerName");
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, existing.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.beerName").isEqualTo("Imported Dust")
+            .jsonPath("$.price").isEqualTo(7.25);
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_PATH_ID, report.get(1).getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.upc").isEqualTo(upc + "2")
+            .jsonPath("$.createdDate").isNotEmpty();
+    }
+
+    @Test
+    void testImportBeersFromCsvReportsErrorsOnly() {
+        String beerStyle = "Imported Csv " + System.nanoTime();
+        String body = "beerName,beerStyle,upc,quantityOnHand,price\r\n"
+            + "\"Imported, First\"," + beerStyle + "," + beerStyle.hashCode() + "1,4,3.50\r\n"
+            + "Imported Second," + beerStyle + ",,4,3.50\r\n"
+            + "Imported Third," + beerStyle + "," + beerStyle.hashCode() + "3,4,3.50\r\n";
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post().uri(BeerRouterConfig.BEER_IMPORT_PATH)
+            .contentType(Exports.TEXT_CSV)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(BatchItemResultDTO.class)
+            .value(report -> {
+                assertThat(report).singleElement().satisfies(result -> {
+                    assertThat(result.getIndex()).isEqualTo(1);
+                    assertThat(result.getStatus()).isEqualTo(BatchItemResultDTO.Status.INVALID);
+                    assertThat(result.getError()).contains("upc");
+                });
+            });
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_PATH)
+                .queryParam("beerStyle", beerStyle).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(2)
+            .jsonPath("$[*].beerName").value(hasItem("Imported, First"));
+    }
+
+    @Test
+    void testSuggestBeerNames() {
+        String prefix = "Suggested " + System.nanoTime();
+        for (String name : List.of(" Pils", " Ale", " Ale")) {
+            webTestClient
+                .mutateWith(mockOAuth2Login())
+                .post().uri(BeerRouterConfig.BEER_PATH)
+                .body(Mono.just(BeerServiceImplTest.getTestBeerDto().toBuilder().beerName(prefix + name).build()), BeerDTO.class)
+                .exchange()
+                .expectStatus().isOk();
+        }
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder.fromPath(BeerRouterConfig.BEER_SUGGEST_PATH)
+                .queryParam(BeerHandler.SUGGEST_PREFIX, prefix.toLowerCase()).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$").value(contains(prefix + " Ale", prefix + " Pils"));
+    }
+
+    @Test
+    void testSuggestBeerNamesWithoutPrefix() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(BeerRouterConfig.BEER_SUGGEST_PATH)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    private byte[] getBody(URI uri) {
+        return webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(uri)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+            .expectBody().returnResult().getResponseBody();
+    }
+
+    private BeerDTO getCreatedTestBeer() {
+        return webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(BeerRouterConfig.BEER_PATH)
+            .body(Mono.just(BeerServiceImplTest.getTestBeer()), BeerDTO.class)
+            .exchange()
+            .returnResult(BeerDTO.class).getResponseBody().blockFirst();
+    }
+
     public BeerDTO getSavedTestBeer() {
         FluxExchangeResult<BeerDTO> beerDTOFluxExchangeResult = webTestClient
             .mutateWith(mockOAuth2Login())
@@ -10,12 +10,22 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockOAuth2Login;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -26,6 +36,9 @@ class CustomerEndpointTest {
     @Autowired
     WebTestClient webTestClient;
 
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
     @Test
     void testPatchIdNotFound() {
         webTestClient
@@ -133,6 +146,25 @@ class CustomerEndpointTest {
 
     }
 
+    @Test
+    void testCreateCustomersBatch() {
+        Customer invalidCustomer = CustomerServiceImplTest.getTestCustomer();
+        invalidCustomer.setCustomerName("");
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(CustomerRouterConfig.CUSTOMER_BATCH_PATH)
+            .body(Mono.just(List.of(CustomerServiceImplTest.getTestCustomer(), invalidCustomer)), List.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.size()").value(equalTo(2))
+            .jsonPath("$[0].status").isEqualTo("CREATED")
+            .jsonPath("$[1].status").isEqualTo("INVALID");
+    }
+
     @Test
     void testGetByIdNotFound() {
         webTestClient
@@ -199,6 +231,199 @@ class CustomerEndpointTest {
             .expectBody().jsonPath("$.size()", hasSize(greaterThan(1)));
     }
 
+    @Test
+    @Order(2)
+    void testListCustomersPaged() {
+        getSavedTestCustomer();
+        getSavedTestCustomer();
+
+        FluxExchangeResult<CustomerDTO> firstPage = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(UriComponentsBuilder
+                .fromPath(CustomerRouterConfig.CUSTOMER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists(KeysetPage.NEXT_CURSOR_HEADER)
+            .returnResult(CustomerDTO.class);
+
+        CustomerDTO firstCustomer = firstPage.getResponseBody().blockFirst();
+        String cursor = firstPage.getResponseHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER);
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(UriComponentsBuilder
+                .fromPath(CustomerRouterConfig.CUSTOMER_PATH)
+                .queryParam(KeysetPage.LIMIT, 1)
+                .queryParam(KeysetPage.AFTER, cursor).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.size()").value(equalTo(1))
+            .jsonPath("$[0].id").value(not(equalTo(firstCustomer.getId())));
+    }
+
+    @Test
+    @Order(2)
+    void testSearchCustomersPaged() {
+        String prefix = "Search " + UUID.randomUUID();
+        List.of(prefix + " Bob", prefix + " Alice").forEach(customerName -> webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH)
+            .body(Mono.just(CustomerDTO.builder().customerName(customerName).build()), CustomerDTO.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .expectStatus().isOk());
+
+        FluxExchangeResult<CustomerDTO> firstPage = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(UriComponentsBuilder
+                .fromPath(CustomerRouterConfig.CUSTOMER_SEARCH_PATH)
+                .queryParam(CustomerHandler.SEARCH_QUERY, prefix)
+                .queryParam(KeysetPage.LIMIT, 1).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists(KeysetPage.NEXT_CURSOR_HEADER)
+            .returnResult(CustomerDTO.class);
+
+        assertThat(firstPage.getResponseBody().blockFirst().getCustomerName()).isEqualTo(prefix + " Alice");
+        String cursor = firstPage.getResponseHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER);
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(UriComponentsBuilder
+                .fromPath(CustomerRouterConfig.CUSTOMER_SEARCH_PATH)
+                .queryParam(CustomerHandler.SEARCH_QUERY, prefix)
+                .queryParam(KeysetPage.LIMIT, 2)
+                .queryParam(KeysetPage.AFTER, cursor).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER)
+            .expectBody().jsonPath("$.size()").value(equalTo(1))
+            .jsonPath("$[0].customerName").value(equalTo(prefix + " Bob"));
+    }
+
+    @Test
+    void testSearchCustomersIgnoresCase() {
+        String suffix = "-" + System.nanoTime();
+        List.of("ALICE" + suffix + " Smith", "Alice" + suffix + " Jones", "Bob" + suffix).forEach(customerName -> webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH)
+            .body(Mono.just(CustomerDTO.builder().customerName(customerName).build()), CustomerDTO.class)
+            .header("Content-Type", "application/json")
+            .exchange()
+            .expectStatus().isOk());
+        Query collated = Query.query(Criteria.where("customerName").is("alice" + suffix + " smith"))
+            .collation(Collation.parse(Customer.NAME_COLLATION));
+        assumeTrue(reactiveMongoTemplate.exists(collated, Customer.class).block(), "The server ignores collations");
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(UriComponentsBuilder
+                .fromPath(CustomerRouterConfig.CUSTOMER_SEARCH_PATH)
+                .queryParam(CustomerHandler.SEARCH_QUERY, "alice" + suffix).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$[*].customerName")
+            .value(contains("Alice" + suffix + " Jones", "ALICE" + suffix + " Smith"));
+    }
+
+    @Test
+    void testSearchCustomersWithoutQuery() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(CustomerRouterConfig.CUSTOMER_SEARCH_PATH)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(2)
+    void testStreamCustomers() {
+        getSavedTestCustomer();
+
+        CustomerDTO streamed = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .returnResult(CustomerDTO.class)
+            .getResponseBody().blockFirst();
+
+        assertThat(streamed.getId()).isNotNull();
+    }
+
+    @Test
+    void testGetByIdAsProtobuf() {
+        CustomerDTO customerDTO = getSavedTestCustomer();
+
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH_ID, customerDTO.getId())
+            .accept(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(ObjectMediaTypes.APPLICATION_PROTOBUF)
+            .expectBody(CustomerDTO.class).isEqualTo(customerDTO);
+    }
+
+    @Test
+    void testCreateCustomerAsCbor() {
+        webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH)
+            .contentType(MediaType.APPLICATION_CBOR)
+            .accept(MediaType.APPLICATION_CBOR)
+            .bodyValue(CustomerServiceImplTest.getTestCustomerDto())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+            .expectBody(CustomerDTO.class)
+            .value(created -> assertThat(created.getId()).isNotNull());
+    }
+
+    @Test
+    void testExportCustomersResumesAfterId() {
+        CustomerDTO first = getCreatedTestCustomer();
+        CustomerDTO second = getCreatedTestCustomer();
+
+        List<CustomerDTO> exported = webTestClient
+            .mutateWith(mockOAuth2Login())
+            .get().uri(UriComponentsBuilder.fromPath(CustomerRouterConfig.CUSTOMER_EXPORT_PATH)
+                .queryParam(Exports.AFTER_ID, first.getId()).build().toUri())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(CustomerDTO.class)
+            .getResponseBody().collectList().block();
+
+        assertThat(exported).isNotEmpty();
+        assertThat(exported.get(0)).isEqualTo(second);
+        assertThat(exported).extracting(CustomerDTO::getId).doesNotContain(first.getId());
+    }
+
+    private CustomerDTO getCreatedTestCustomer() {
+        return webTestClient
+            .mutateWith(mockOAuth2Login())
+            .post()
+            .uri(CustomerRouterConfig.CUSTOMER_PATH)
+            .body(Mono.just(CustomerServiceImplTest.getTestCustomer()), CustomerDTO.class)
+            .exchange()
+            .returnResult(CustomerDTO.class).getResponseBody().blockFirst();
+    }
+
     public CustomerDTO getSavedTestCustomer() {
         FluxExchangeResult<CustomerDTO> customerDTOFluxExchangeResult = webTestClient
             .mutateWith(mockOAuth2Login())